@@ -0,0 +1,91 @@
+package hyunsub.glemoa.collector.common;
+
+import hyunsub.glemoa.collector.dto.KeywordResDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CrawlerJob 알림 단계의 키워드 매칭 비용 비교.
+ * 기존 방식(게시글 x 키워드 String.contains)과 Aho-Corasick 매처를 같은 데이터로 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KeywordMatcherBenchmark {
+
+    @Param({"100000"})
+    private int keywordCount;
+
+    @Param({"500"})
+    private int postCount;
+
+    private List<KeywordResDto> keywords;
+    private List<String> titles;
+    private KeywordMatcher matcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        keywords = new ArrayList<>(keywordCount);
+        for (int i = 0; i < keywordCount; i++) {
+            keywords.add(KeywordResDto.builder()
+                    .keywordId((long) i)
+                    .memberId((long) random.nextInt(keywordCount / 2 + 1))
+                    .keywordName(hangul(random, 2 + random.nextInt(3)))
+                    .build());
+        }
+        titles = new ArrayList<>(postCount);
+        for (int i = 0; i < postCount; i++) {
+            titles.add(hangul(random, 20 + random.nextInt(30)));
+        }
+        matcher = KeywordMatcher.compile(keywords);
+    }
+
+    // 자주 쓰이는 음절 위주로 만들어 실제 제목처럼 적당히 매칭이 일어나도록 합니다.
+    private static String hangul(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) (0xAC00 + random.nextInt(400)));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public int naiveContains() {
+        int hits = 0;
+        for (String title : titles) {
+            for (KeywordResDto keyword : keywords) {
+                if (title.contains(keyword.getKeywordName())) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int ahoCorasick() {
+        int hits = 0;
+        for (String title : titles) {
+            hits += matcher.match(title).size();
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public KeywordMatcher compile() {
+        return KeywordMatcher.compile(keywords);
+    }
+}
@@ -0,0 +1,55 @@
+package hyunsub.glemoa.collector.common.fetch;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 네트워크 대신 src/jmh/resources/fixtures 의 HTML 로 응답하는 PageFetcher.
+ * rewind() 후 첫 요청에는 fixture 를, 그다음 요청부터는 빈 문서를 돌려주므로 크롤러는 한 페이지만 읽고 멈춥니다.
+ * 응답마다 Jsoup 으로 다시 파싱하므로, 실제 PageFetcher 처럼 HTML 파싱 비용까지 측정에 포함됩니다.
+ * (속도 제한/연결/조건부 요청은 쓰지 않으므로 HostRateLimiter 없이 만듭니다.)
+ */
+public class FixturePageFetcher extends PageFetcher {
+
+    private final String html;
+    private boolean served;
+
+    public FixturePageFetcher(String html) {
+        super(null);
+        this.html = html;
+    }
+
+    /**
+     * classpath 의 fixtures/{name}.html 을 읽습니다.
+     */
+    public static FixturePageFetcher load(String name) {
+        String path = "fixtures/" + name + ".html";
+        try (InputStream in = FixturePageFetcher.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("fixture 가 없습니다: " + path);
+            }
+            return new FixturePageFetcher(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 다음 요청부터 다시 첫 페이지로 응답합니다.
+    public void rewind() {
+        served = false;
+    }
+
+    @Override
+    public FetchResult fetch(String url, boolean revalidate) {
+        if (served) {
+            return FetchResult.modified(Document.createShell(url));
+        }
+        served = true;
+        return FetchResult.modified(Jsoup.parse(html, url));
+    }
+}
@@ -0,0 +1,117 @@
+package hyunsub.glemoa.collector.common.parse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게시글 한 줄의 카운터/작성 시각 파싱 비용 비교.
+ * 기존 크롤러 방식(필드마다 replaceAll + Integer.parseInt, 게시글마다 DateTimeFormatter.ofPattern, 형식이 틀리면 예외로 다음 형식 시도)과
+ * CountParser / TimeParser 를 같은 값으로 측정합니다.
+ * 값은 목록 페이지에 실제로 나오는 모양("1,234", "99+", "1.2k", "(12)", "23:59", "10-16", "3시간전" 등)을 섞어 만든 합성 데이터입니다.
+ * 할당량은 gc 프로파일러(build.gradle 의 jmh.profilers)로 함께 출력됩니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParseBenchmark {
+
+    private static final String[] COUNT_SHAPES = {"%d", "%,d", "(%d)", "[%d]", "%d+"};
+    private static final String[] TIME_SHAPES = {"HH:mm", "MM-dd", "relative"};
+
+    private static final DateTimeFormatter[] FORMATS = {TimeParser.HH_MM, DateTimeFormatter.ofPattern("MM-dd")};
+
+    @Param({"1000"})
+    private int rowCount;
+
+    private String[] counts;
+    private String[] times;
+    private LocalDateTime now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        counts = new String[rowCount];
+        times = new String[rowCount];
+        now = LocalDateTime.of(2026, 10, 17, 12, 0);
+        for (int i = 0; i < rowCount; i++) {
+            int value = random.nextInt(5) == 0 ? random.nextInt(200_000) : random.nextInt(1_000);
+            counts[i] = String.format(COUNT_SHAPES[random.nextInt(COUNT_SHAPES.length)], value);
+            times[i] = switch (TIME_SHAPES[random.nextInt(TIME_SHAPES.length)]) {
+                case "HH:mm" -> String.format("%02d:%02d", random.nextInt(24), random.nextInt(60));
+                case "MM-dd" -> String.format("%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28));
+                default -> (1 + random.nextInt(59)) + (random.nextBoolean() ? "분전" : "시간전");
+            };
+        }
+    }
+
+    @Benchmark
+    public long legacyCounts() {
+        long sum = 0;
+        for (String count : counts) {
+            String digits = count.replaceAll("[^0-9]", "");
+            sum += digits.isEmpty() ? 0 : Integer.parseInt(digits);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long countParser() {
+        long sum = 0;
+        for (String count : counts) {
+            sum += CountParser.parse(count, 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long legacyTimes() {
+        long sum = 0;
+        for (String time : times) {
+            sum += legacyTime(time).getDayOfYear();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long timeParser() {
+        long sum = 0;
+        for (String time : times) {
+            sum += TimeParser.parse(time, FORMATS, now).getDayOfYear();
+        }
+        return sum;
+    }
+
+    // 기존 크롤러의 작성 시각 처리 (EtolandCrawler / InvenCrawler 등)
+    private LocalDateTime legacyTime(String timeStr) {
+        if (timeStr.endsWith("분전")) {
+            return now.minusMinutes(Integer.parseInt(timeStr.replaceAll("[^0-9]", "")));
+        }
+        if (timeStr.endsWith("시간전")) {
+            return now.minusHours(Integer.parseInt(timeStr.replaceAll("[^0-9]", "")));
+        }
+        try {
+            LocalTime time = LocalTime.parse(timeStr, DateTimeFormatter.ofPattern("HH:mm"));
+            return LocalDateTime.of(now.toLocalDate(), time);
+        } catch (DateTimeParseException e) {
+            MonthDay monthDay = MonthDay.parse(timeStr, DateTimeFormatter.ofPattern("MM-dd"));
+            LocalDate date = monthDay.atYear(now.getYear());
+            return date.atStartOfDay();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package hyunsub.glemoa.collector.service;
+
+import hyunsub.glemoa.collector.common.board.CompiledBoard;
+import hyunsub.glemoa.collector.common.fetch.FixturePageFetcher;
+import hyunsub.glemoa.collector.config.CrawlerProperties;
+import hyunsub.glemoa.collector.service.impl.BoardCrawler;
+import hyunsub.glemoa.collector.service.impl.NatePannCrawler;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 크롤러별 목록 페이지 파싱 처리량.
+ * 네트워크 없이 fixtures/{crawler}.html 한 페이지를 FixturePageFetcher 로 넘기고, HTML 파싱부터 Post 생성까지 crawl 한 번을 측정합니다.
+ * - 설정 기반 크롤러는 application-local.yaml 의 board 설정을 그대로 컴파일해서 씁니다. (선택자를 바꾸면 측정에도 바로 반영)
+ * - ops/s 는 페이지/초, posts 는 게시글/초 입니다. 할당량(gc.alloc.rate.norm)은 gc 프로파일러로 함께 출력됩니다.
+ * Selenium 으로 페이지를 여는 크롤러(arcaLive, clien, fmkorea)는 브라우저 없이 돌릴 수 없어 제외합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CrawlerParseBenchmark {
+
+    private static final String NATE_PANN = "natePannCrawler";
+
+    @Param({"bobaedreamCrawler", "dcInsideCrawler", "etolandCrawler", "humorunivCrawler", "invenCrawler",
+            "mlbparkCrawler", "ppomppuCrawler", "ruliwebCrawler", "theqooCrawler", NATE_PANN})
+    private String crawlerName;
+
+    private FixturePageFetcher fetcher;
+    private ICrawler crawler;
+    private CrawlScope scope;
+
+    /**
+     * 게시글 수. 처리량(ops/s)과 같은 구간에서 세므로 게시글/초로 출력됩니다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PostCounter {
+        public long posts;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fetcher = FixturePageFetcher.load(crawlerName);
+        if (NATE_PANN.equals(crawlerName)) {
+            // 파라미터가 기본값(0)이라 날짜별 병렬 크롤링 없이 오늘 랭킹만 읽습니다.
+            crawler = new NatePannCrawler(fetcher);
+            scope = CrawlScope.until(LocalDate.now().atStartOfDay());
+            return;
+        }
+        CrawlerProperties.BoardSpec spec = loadProperties().getCrawlers().stream()
+                .filter(config -> crawlerName.equals(config.getName()) && config.getBoard() != null)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("board 설정이 없는 크롤러입니다: " + crawlerName))
+                .getBoard();
+        crawler = new BoardCrawler(fetcher, CompiledBoard.compile(crawlerName, spec));
+        // fixture 의 모든 게시글이 범위 안에 들도록 충분히 이전 시각으로 둡니다.
+        scope = CrawlScope.until(LocalDateTime.of(2000, 1, 1, 0, 0));
+    }
+
+    private static CrawlerProperties loadProperties() throws IOException {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                .load("application-local", new ClassPathResource("application-local.yaml"));
+        return new Binder(ConfigurationPropertySources.from(sources))
+                .bind("glemoa", CrawlerProperties.class)
+                .get();
+    }
+
+    @Benchmark
+    public void crawl(PostCounter counter, Blackhole blackhole) {
+        fetcher.rewind();
+        crawler.crawl(scope, page -> {
+            counter.posts += page.size();
+            blackhole.consume(page);
+        });
+    }
+}
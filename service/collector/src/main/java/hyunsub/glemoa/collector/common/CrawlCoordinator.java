@@ -0,0 +1,225 @@
+package hyunsub.glemoa.collector.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 크롤러 전체가 함께 쓰는 실행 예산과 실행 시점을 관리합니다.
+ * 모든 크롤러가 같은 5분 cron 으로 같은 초에 시작하면 CPU / DB 커넥션 / Elasticsearch 를 한꺼번에 쓰고 나머지 시간은 쉬게 되므로,
+ * - 같은 cron 을 쓰는 크롤러는 주기 안에서 시작 시각을 고르게 나누고(stagger), 매 회차 jitter 만큼 무작위로 더 늦춥니다.
+ * - 동시에 실행되는 크롤링 작업 수를 max-concurrent-crawls 로 제한하고, 자리가 나면 가장 오래 갱신되지 않은(주기 대비) 크롤러부터 실행합니다.
+ * - 게시글 페이지 저장(CrawlerJob 의 DB 쓰기)은 max-concurrent-writers 개까지만 동시에 진행합니다.
+ * 동시 요청 수는 PageFetcher(max-concurrent-requests), 브라우저 수는 WebDriverPool 이 제한합니다.
+ */
+@Slf4j
+@Component
+public class CrawlCoordinator implements InitializingBean {
+
+    // 0 이하면 제한 없음 (crawl-executor: virtual 일 때만 적용)
+    @Value("${glemoa.coordinator.max-concurrent-crawls:4}")
+    private int maxConcurrentCrawls;
+
+    @Value("${glemoa.coordinator.max-concurrent-writers:2}")
+    private int maxConcurrentWriters;
+
+    @Value("${glemoa.coordinator.stagger:true}")
+    private boolean stagger;
+
+    @Value("${glemoa.coordinator.jitter-seconds:10}")
+    private long jitterSeconds;
+
+    private Semaphore writerPermits;
+
+    // 크롤러별 cron 주기 / 마지막 완료 시각 (신선도 계산용)
+    private final Map<String, Duration> periods = new ConcurrentHashMap<>();
+    private final Map<String, Instant> lastCompleted = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 아래 필드는 lock 으로 보호합니다.
+    private final List<Pending> waiting = new ArrayList<>();
+    private final Set<String> active = new HashSet<>(); // 대기 중이거나 실행 중인 크롤러
+    private int running;
+
+    @Override
+    public void afterPropertiesSet() {
+        writerPermits = new Semaphore(Math.max(1, maxConcurrentWriters), true);
+        log.info("크롤링 조정기 초기화 (동시 크롤링 {}개, 동시 저장 {}개, 시작 분산 {}, jitter {}초)",
+                maxConcurrentCrawls > 0 ? maxConcurrentCrawls : "제한 없음", maxConcurrentWriters, stagger ? "사용" : "사용 안 함", jitterSeconds);
+    }
+
+    /**
+     * 같은 cron 을 쓰는 크롤러 slots 개 중 slot 번째(0부터)의 트리거.
+     * stagger 를 끄면 cron 시각 그대로 실행합니다.
+     */
+    public Trigger trigger(String name, String cron, int slot, int slots) {
+        CronExpression expression = CronExpression.parse(cron);
+        Duration period = periodOf(expression);
+        periods.put(name, period);
+        if (!stagger) {
+            return new StaggeredTrigger(expression, Duration.ZERO, Duration.ZERO);
+        }
+        // 주기를 slots 칸으로 나눠 칸마다 한 크롤러가 시작하고, jitter 는 자기 칸을 넘지 않게 합니다.
+        Duration width = period.dividedBy(Math.max(1, slots));
+        Duration offset = width.multipliedBy(slot);
+        Duration jitter = Duration.ofSeconds(jitterSeconds).compareTo(width) < 0 ? Duration.ofSeconds(jitterSeconds) : width;
+        log.info("[{}] 시작 시각 분산: cron + {}초 (jitter 최대 {}초)", name, offset.toSeconds(), jitter.toSeconds());
+        return new StaggeredTrigger(expression, offset, jitter);
+    }
+
+    /**
+     * 크롤링 작업을 실행 예산 안에서 executor 로 넘깁니다.
+     * 자리가 없으면 기다렸다가, 자리가 날 때 가장 오래 갱신되지 않은 크롤러부터 실행합니다.
+     * 같은 크롤러가 이미 대기 중이거나 실행 중이면 이번 회차는 건너뜁니다.
+     */
+    public void submit(String name, Runnable job, Executor executor) {
+        lock.lock();
+        try {
+            if (!active.add(name)) {
+                log.info("[{}] 이전 크롤링이 대기 중이거나 실행 중이므로 이번 회차는 건너뜁니다.", name);
+                return;
+            }
+            waiting.add(new Pending(name, job, executor));
+            if (maxConcurrentCrawls > 0 && running >= maxConcurrentCrawls) {
+                log.info("[{}] 동시 크롤링 한도({})에 도달하여 대기합니다. (대기 {}개)", name, maxConcurrentCrawls, waiting.size());
+            }
+            drain();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 게시글 저장 허가. CrawlerJob 은 페이지를 저장하는 동안만 들고 있습니다.
+     */
+    public Semaphore writerPermits() {
+        return writerPermits;
+    }
+
+    // lock 을 잡은 상태에서 호출합니다.
+    private void drain() {
+        while (!waiting.isEmpty() && (maxConcurrentCrawls <= 0 || running < maxConcurrentCrawls)) {
+            Pending next = stalest();
+            waiting.remove(next);
+            running++;
+            try {
+                next.executor().execute(() -> {
+                    try {
+                        next.job().run();
+                    } finally {
+                        complete(next.name());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 종료 중이면 실행기가 작업을 받지 않습니다.
+                running--;
+                active.remove(next.name());
+                log.warn("[{}] 크롤링 작업을 실행하지 못했습니다: {}", next.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void complete(String name) {
+        lock.lock();
+        try {
+            running--;
+            active.remove(name);
+            lastCompleted.put(name, Instant.now());
+            drain();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 마지막 완료 후 지난 시간을 cron 주기로 나눈 값이 가장 큰 크롤러. 한 번도 끝나지 않은 크롤러가 가장 먼저입니다.
+    private Pending stalest() {
+        Instant now = Instant.now();
+        Pending stalest = null;
+        double maxStaleness = -1;
+        for (Pending pending : waiting) {
+            double staleness = stalenessOf(pending.name(), now);
+            if (staleness > maxStaleness) {
+                stalest = pending;
+                maxStaleness = staleness;
+            }
+        }
+        return stalest;
+    }
+
+    private double stalenessOf(String name, Instant now) {
+        Instant completed = lastCompleted.get(name);
+        Duration period = periods.get(name);
+        if (completed == null || period == null || period.isZero()) {
+            return Double.MAX_VALUE;
+        }
+        return (double) Duration.between(completed, now).toMillis() / period.toMillis();
+    }
+
+    // 다음 두 번의 실행 시각 간격 (불규칙한 cron 이면 가장 가까운 두 회차 기준)
+    private static Duration periodOf(CronExpression expression) {
+        ZonedDateTime first = expression.next(ZonedDateTime.now());
+        ZonedDateTime second = first == null ? null : expression.next(first);
+        return second == null ? Duration.ZERO : Duration.between(first, second);
+    }
+
+    private record Pending(String name, Runnable job, Executor executor) {
+    }
+
+    /**
+     * cron 시각에 offset + 무작위 jitter 만큼 늦게 실행하는 트리거.
+     * 다음 시각은 지난 회차의 cron 시각(늦춘 만큼 되돌린 값) 기준으로 계산하므로, 늦춘 시간이 쌓이지 않습니다.
+     * 작업이 주기보다 오래 걸리면 CronTrigger 처럼 끝난 뒤의 다음 cron 시각으로 넘어갑니다.
+     */
+    private static class StaggeredTrigger implements Trigger {
+
+        private final CronExpression expression;
+        private final Duration offset;
+        private final Duration jitter;
+        private Duration lastDelay = Duration.ZERO;
+
+        private StaggeredTrigger(CronExpression expression, Duration offset, Duration jitter) {
+            this.expression = expression;
+            this.offset = offset;
+            this.jitter = jitter;
+        }
+
+        @Override
+        public Instant nextExecution(TriggerContext triggerContext) {
+            Instant base = triggerContext.getClock().instant();
+            Instant lastScheduled = triggerContext.lastScheduledExecution();
+            if (lastScheduled != null) {
+                base = lastScheduled.minus(lastDelay);
+                Instant lastCompletion = triggerContext.lastCompletion();
+                if (lastCompletion != null && lastCompletion.minus(lastDelay).isAfter(base)) {
+                    base = lastCompletion.minus(lastDelay);
+                }
+            }
+            ZonedDateTime next = expression.next(base.atZone(ZoneId.systemDefault()));
+            if (next == null) {
+                return null;
+            }
+            lastDelay = jitter.toMillis() <= 0 ? offset : offset.plusMillis(ThreadLocalRandom.current().nextLong(jitter.toMillis()));
+            return next.toInstant().plus(lastDelay);
+        }
+    }
+}
@@ -1,22 +1,24 @@
 package hyunsub.glemoa.collector.common;
 
-import hyunsub.glemoa.collector.document.PostDocument;
-import hyunsub.glemoa.collector.dto.KeywordResDto;
-import hyunsub.glemoa.collector.dto.NotificationReqDto;
 import hyunsub.glemoa.collector.entity.Post;
-import hyunsub.glemoa.collector.repository.PostDocumentRepository;
+import hyunsub.glemoa.collector.repository.CrawlWatermarkRepository;
+import hyunsub.glemoa.collector.repository.CrawlWatermarkRepository.CrawlWatermark;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository.EventType;
 import hyunsub.glemoa.collector.repository.PostRepository;
+import hyunsub.glemoa.collector.repository.PostUpsertRepository;
+import hyunsub.glemoa.collector.service.CrawlScope;
 import hyunsub.glemoa.collector.service.ICrawler;
-import hyunsub.glemoa.collector.service.MemberFeign;
+import hyunsub.glemoa.collector.service.PostCounterTracker;
+import hyunsub.glemoa.collector.service.PostSink;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
@@ -26,32 +28,53 @@ public class CrawlerJob implements Runnable {
 
     private final ICrawler crawler;
     private final PostRepository postRepository;
-    private final PostDocumentRepository postDocumentRepository; // 추가: Elasticsearch Repository
-    private final MemberFeign memberFeign;
+    private final PostUpsertRepository postUpsertRepository;
+    private final PostOutboxRepository postOutboxRepository; // 색인/알림 후속 작업 기록
+    private final CrawlWatermarkRepository crawlWatermarkRepository; // source 별 수집 진행 위치
+    private final PostCounterTracker postCounterTracker; // 최근 게시글 카운터 / 갱신 주기
+    // CrawlerJob 은 Spring 빈이 아니라 @Transactional 프록시가 적용되지 않으므로, 배치 단위 트랜잭션을 직접 엽니다.
+    private final TransactionTemplate transactionTemplate;
     private final int initialCrawlDays;
     private final int batchSize;
     private final int lookBackMinutes;
     private final int restartCrawlMinutes;
+    // true 면 평소에는 이미 저장된 번호를 만날 때까지만 페이지를 넘깁니다.
+    // 카운터 갱신 차례가 된 게시글이 있으면 그 깊이까지, counterRefreshMinutes 마다 lookback 구간 전체를 다시 훑습니다.
+    private final boolean incremental;
+    private final int counterRefreshMinutes;
     private final ReentrantLock crawlerLock;
+    // 크롤러 전체가 공유하는 저장 허가 (CrawlCoordinator 의 max-concurrent-writers)
+    private final Semaphore writerPermits;
 
 
     @Override
-    @Transactional // 트랜잭션 관리 (MySQL 저장과 Elasticsearch 저장을 하나의 논리적 단위로 묶을 수 있음)
     public void run() {
-        String source = crawler.getClass().getSimpleName().replace("Crawler", "").toLowerCase();
+        // 설정 기반 크롤러는 모두 BoardCrawler 이므로 클래스 이름이 아니라 크롤러가 알려 주는 source 를 씁니다.
+        String source = crawler.source();
 
         if (crawlerLock.tryLock()) {
             log.info("[{}] 락 획득, 크롤링 작업을 시작합니다.", source);
             try {
                 LocalDateTime targetDate;
+                Long stopAtSourceId = null;
+                boolean fullCrawl = true; // lookback 구간 전체를 훑는지 (워터마크의 마지막 전체 크롤링 시각 기록용)
+
+                CrawlWatermark watermark = crawlWatermarkRepository.findBySource(source).orElse(null);
 
                 // 1. 최초 크롤링인지 확인
-                boolean isInitialCrawl = !postRepository.existsBySource(source);
+                // (PostCounterTracker 가 들고 있는 sourceId 집합으로 판단하므로 DB 조회가 없습니다.)
+                boolean isInitialCrawl = !postCounterTracker.hasAny(source);
 
-                if (isInitialCrawl) {
+                if (watermark != null && watermark.pendingUntil() != null) {
+                    // 시나리오 0: 이전의 최초/재시작 크롤링이 끝나지 못함 -> 같은 범위를 다시 훑음
+                    // (이미 저장된 페이지의 게시글은 PostCounterTracker 가 걸러 내므로 다시 쓰지 않습니다.)
+                    targetDate = watermark.pendingUntil();
+                    log.info("[{}] 중단된 크롤링을 이어서 진행합니다. ({} 까지)", source, targetDate);
+                } else if (isInitialCrawl) {
                     // 시나리오 1: 최초 크롤링
                     // yml의 'initial-crawl-days' 값을 사용합니다.
                     targetDate = LocalDateTime.now().minusDays(initialCrawlDays);
+                    crawlWatermarkRepository.markPending(source, targetDate);
                     log.info("[{}] 최초 크롤링을 시작합니다. (지난 {}일)", source, initialCrawlDays);
                 } else {
                     // 최초 크롤링이 아닌 경우, 마지막 게시물 시간을 확인하여 공백 발생 여부 판단
@@ -64,128 +87,212 @@ public class CrawlerJob implements Runnable {
                         // 시나리오 2: 재시작 또는 공백 발생
                         // yml의 'restart-crawl-minutes' 값을 사용합니다.
                         targetDate = LocalDateTime.now().minusMinutes(restartCrawlMinutes);
+                        crawlWatermarkRepository.markPending(source, targetDate);
                         log.info("[{}] 크롤링 공백 감지. 재시작 크롤링을 시작합니다. (지난 {}분)", source, restartCrawlMinutes);
                     } else {
                         // 시나리오 3: 정상적인 주기적 크롤링
                         // yml의 'look-back-minutes' 값을 사용합니다.
-                        targetDate = LocalDateTime.now().minusMinutes(lookBackMinutes);
-                        log.info("[{}] 주기적 크롤링을 시작합니다. (지난 {}분)", source, lookBackMinutes);
+                        LocalDateTime lookBackDate = LocalDateTime.now().minusMinutes(lookBackMinutes);
+                        targetDate = lookBackDate;
+                        // 카운터 갱신 차례가 된 게시글 중 가장 오래된 작성 시각 (없으면 null)
+                        LocalDateTime refreshUntil = postCounterTracker.refreshUntil(source);
+                        boolean incrementalReady = incremental && watermark != null && watermark.maxSourceId() != null && !watermark.isFullCrawlDue(counterRefreshMinutes);
+                        if (incrementalReady && refreshUntil == null) {
+                            // 시나리오 3-1: 증분 크롤링 (이미 저장된 번호를 만나면 멈춤)
+                            stopAtSourceId = watermark.maxSourceId();
+                            fullCrawl = false;
+                            log.info("[{}] 증분 크롤링을 시작합니다. (번호 {} 이후, 최대 지난 {}분)", source, stopAtSourceId, lookBackMinutes);
+                        } else if (incrementalReady) {
+                            // 시나리오 3-2: 카운터 갱신 차례가 된 게시글이 있는 깊이까지만 내려감
+                            targetDate = refreshUntil;
+                            fullCrawl = !refreshUntil.isAfter(lookBackDate);
+                            log.info("[{}] 카운터 갱신 크롤링을 시작합니다. ({} 이후 작성된 게시글)", source, refreshUntil);
+                        } else {
+                            // lookback 구간보다 오래된 게시글도 갱신 차례면 그 깊이까지 내려갑니다.
+                            if (refreshUntil != null && refreshUntil.isBefore(lookBackDate)) {
+                                targetDate = refreshUntil;
+                            }
+                            log.info("[{}] 주기적 크롤링을 시작합니다. (지난 {}분{})", source, lookBackMinutes,
+                                    targetDate.isBefore(lookBackDate) ? ", 카운터 갱신 " + refreshUntil + " 까지" : "");
+                        }
                     }
                 }
 
+                CrawlScope scope = new CrawlScope(targetDate, stopAtSourceId);
                 log.info("[{}] 스케줄링된 작업 실행. (스레드: {})", source, Thread.currentThread().getName());
-                List<Post> crawledPosts = crawler.crawl(targetDate);
 
-                if (crawledPosts == null || crawledPosts.isEmpty()) {
+                // 크롤러는 페이지를 하나 읽을 때마다 PageWriter 로 넘기고, 여기서 바로 저장합니다.
+                // (전체를 모았다가 마지막에 저장하지 않으므로 메모리 사용량이 일정하고, 중간에 멈춰도 저장된 페이지는 남습니다.)
+                PageWriter writer = new PageWriter(source);
+                crawler.crawl(scope, writer);
+                // 크롤러가 저장 실패를 삼켰더라도 여기서 다시 던져 워터마크가 앞으로 가지 않게 합니다.
+                writer.rethrowFailure();
+
+                if (writer.reachedEnd) {
+                    if (!scope.isIncremental()) {
+                        postCounterTracker.markRefreshed(source, scope.until());
+                    }
+                    crawlWatermarkRepository.advance(source, writer.maxSourceId, writer.maxCreatedAt, fullCrawl ? LocalDateTime.now() : null);
+                } else {
+                    // 변경 없음으로 멈췄거나 요청이 실패해 범위 끝까지 보지 못했습니다.
+                    // 카운터 갱신 시각/전체 크롤링 시각을 기록하지 않고, 진행 중 표시(pending_until)도 남겨 다음 실행이 같은 범위를 다시 훑게 합니다.
+                    // 번호 워터마크도 올리지 않습니다. (올리면 다음 증분 크롤링이 보지 못한 구간을 건너뜁니다.)
+                    log.warn("[{}] 범위 끝({})에 닿기 전에 크롤링이 멈췄습니다. 워터마크를 그대로 둡니다.", source, scope.until());
+                }
+
+                if (writer.crawledCount == 0) {
                     log.info("[{}] 크롤링 완료. 수집된 게시글이 없습니다.", source);
                     return;
                 }
 
-                // 1. 크롤링된 데이터에서 sourceId만 추출
-                List<Long> sourceIds = crawledPosts.stream().map(Post::getSourceId).collect(Collectors.toList());
+                if (writer.changedCount == 0) {
+                    log.info("[{}] 모든 게시글이 최신 상태입니다. 업데이트할 내용이 없습니다. (총 {}개, {}페이지)", source, writer.crawledCount, writer.pageCount);
+                    return;
+                }
 
-                // 2. sourceId를 이용해 DB에서 기존 데이터를 한 번에 조회
-                List<Post> existingPosts = postRepository.findBySourceAndSourceIdIn(source, sourceIds);
-                // (existingValue, newValue) -> existingValue 부분은 "만약 키가 중복되면, 기존 값을 쓰고 새 값은 버려"라는 의미의 규칙
-                Map<Long, Post> existingPostsMap = existingPosts.stream().collect(Collectors.toMap(Post::getSourceId, post -> post, (existingValue, newValue) -> existingValue));
+                log.info("[{}] {}개의 신규 게시글 저장 / {}개의 게시글 업데이트 완료. (총 {}개, {}페이지 중 카운터만 갱신 {}개, 변화 없음 {}개, 갱신 대상 아님 {}개, 색인/알림은 outbox 로 전달)",
+                        source, writer.newCount, writer.updateCount, writer.crawledCount, writer.pageCount,
+                        writer.counterUpdateCount, writer.unchangedCount, writer.frozenCount);
 
-                List<Post> postsToSave = new ArrayList<>();
-                List<Post> newPosts = new ArrayList<>();
-                int updateCount = 0;
+            } catch (Exception e) {
+                log.error("[{}] 크롤링 작업 중 오류 발생: {}", source, e.getMessage(), e);
+            } finally {
+                crawlerLock.unlock();
+                log.info("[{}] 작업 완료, 락을 해제합니다.", source);
+            }
+        } else {
+            log.info("[{}] 다른 크롤러가 실행 중이므로 작업을 건너뜁니다.", source);
+        }
+    }
 
-                // 3. 크롤링된 데이터를 순회하며 '추가'할 것과 '업데이트'할 것을 분류
-                for (Post crawledPost : crawledPosts) {
-                    Post existingPost = existingPostsMap.get(crawledPost.getSourceId());
-                    if (existingPost != null) {
-                        // 3-1. 데이터가 이미 존재하면 (UPDATE)
-                        boolean isUpdated = false;
+    /**
+     * 크롤러가 페이지 단위로 넘기는 게시글을 받아 바로 저장하는 sink.
+     * 저장에 실패하면 예외를 기록해 두고, 이후 페이지는 받지 않습니다.
+     */
+    private class PageWriter implements PostSink {
 
-                        if (!Objects.equals(existingPost.getTitle(), crawledPost.getTitle())) {
-                            existingPost.setTitle(crawledPost.getTitle()); isUpdated = true;
-                        }
-                        if (!Objects.equals(existingPost.getCommentCount(), crawledPost.getCommentCount())) {
-                            existingPost.setCommentCount(crawledPost.getCommentCount()); isUpdated = true;
-                        }
-                        if (!Objects.equals(existingPost.getViewCount(), crawledPost.getViewCount())) {
-                            existingPost.setViewCount(crawledPost.getViewCount()); isUpdated = true;
-                        }
-                        if (!Objects.equals(existingPost.getRecommendationCount(), crawledPost.getRecommendationCount())) {
-                            existingPost.setRecommendationCount(crawledPost.getRecommendationCount()); isUpdated = true;
-                        }
+        private final String source;
+        private RuntimeException failure;
+        private boolean reachedEnd;
 
-                        if(isUpdated) {
-                            postsToSave.add(existingPost);
-//                            postDocumentsToSave.add(PostDocument.from(existingPost)); // Elasticsearch 업데이트 대상
-                            updateCount++;
-                        }
-                    } else {
-                        // 3-2. 데이터가 없으면 (INSERT)
-                        postsToSave.add(crawledPost);
-                        newPosts.add(crawledPost);
-                    }
-                }
+        private int pageCount;
+        private int crawledCount;
+        private int newCount;
+        private int updateCount;
+        private int changedCount;
+        private int counterUpdateCount;
+        private int unchangedCount;
+        private int frozenCount;
+        // 워터마크용 (이번 실행에서 저장된 가장 큰 번호 / 가장 늦은 작성 시각)
+        private Long maxSourceId;
+        private LocalDateTime maxCreatedAt;
 
-                if (postsToSave.isEmpty()) {
-                    log.info("[{}] 모든 게시글이 최신 상태입니다. 업데이트할 내용이 없습니다.", source);
-                    return;
+        private PageWriter(String source) {
+            this.source = source;
+        }
+
+        @Override
+        public void accept(List<Post> page) {
+            if (failure != null) {
+                throw failure;
+            }
+            if (page.isEmpty()) {
+                return;
+            }
+            try {
+                acquireWriter();
+                try {
+                    write(page);
+                } finally {
+                    writerPermits.release();
                 }
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            }
+        }
 
-                log.info("[{}] 크롤링 완료. 총 {}개의 게시글 중 {}개는 신규, {}개는 업데이트 대상입니다.", source, crawledPosts.size(), postsToSave.size() - updateCount, updateCount);
+        @Override
+        public void reachedEnd() {
+            reachedEnd = true;
+        }
 
-                // 4. MySQL 배치 저장
-                for (int i = 0; i < postsToSave.size(); i += batchSize) {
-                    List<Post> batchList = postsToSave.subList(i, Math.min(i + batchSize, postsToSave.size()));
-                    postRepository.saveAll(batchList);
-                    log.info("[{}] {}/{} 게시글 MySQL 저장 중...", source, Math.min(i + batchSize, postsToSave.size()), postsToSave.size());
-                }
+        // 다른 크롤러의 저장이 몰려 있으면 DB 커넥션을 나눠 쓰도록 자리가 날 때까지 기다립니다.
+        private void acquireWriter() {
+            try {
+                writerPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("[" + source + "] 저장 대기 중 인터럽트", e);
+            }
+        }
 
-                // 5. Elasticsearch 배치 저장 (추가된 부분)
-                // MySQL 저장이 완료된 postsToSave 리스트(ID가 채워져 있음)를 사용하여 PostDocument를 생성합니다.
-                List<PostDocument> postDocumentsToSave = postsToSave.stream()
-                        .map(PostDocument::from)
-                        .collect(Collectors.toList());
+        private void rethrowFailure() {
+            if (failure != null) {
+                throw failure;
+            }
+        }
 
+        private void write(List<Post> page) {
+            // 이미 추적 중인 게시글은 카운터만 비교해서, 바뀐 것만 부분 업데이트하고 그대로인 것은 저장하지 않습니다.
+            // 추적 범위 밖인데 이미 저장된 게시글(seen-set)도 저장하지 않으므로, upsert 에는 새 게시글이 대부분입니다.
+            // (페이지를 넘기는 사이 목록이 밀려 앞 페이지의 게시글이 다시 나와도, 앞 페이지 저장 후 기록되었으므로 여기서 걸러집니다.)
+            PostCounterTracker.CounterPlan plan = postCounterTracker.plan(source, page);
+            List<Post> upserts = plan.upserts();
 
-                for (int i = 0; i < postDocumentsToSave.size(); i += batchSize) {
-                    List<PostDocument> batchList = postDocumentsToSave.subList(i, Math.min(i + batchSize, postDocumentsToSave.size()));
-                    postDocumentRepository.saveAll(batchList);
-                    log.info("[{}] {}/{} 게시글 Elasticsearch 저장 중...", source, Math.min(i + batchSize, postDocumentsToSave.size()), postDocumentsToSave.size());
+            // 1. MySQL upsert + outbox 기록 (새 게시글, 추적 중이 아니거나 제목이 바뀐 게시글)
+            // (source, source_id) 유니크 인덱스 기준으로 배치마다 INSERT ... ON DUPLICATE KEY UPDATE 한 번만 보냅니다.
+            // 같은 트랜잭션에서 후속 작업(Elasticsearch 색인, 키워드 알림)을 post_outbox 에 기록하고,
+            // 실제 처리는 PostOutboxRelay 가 따로 합니다. (느린 Elasticsearch/회원 서비스가 크롤링을 붙잡지 않음)
+            for (int i = 0; i < upserts.size(); i += batchSize) {
+                List<Post> batchList = upserts.subList(i, Math.min(i + batchSize, upserts.size()));
+                PostUpsertRepository.UpsertResult result = transactionTemplate.execute(status -> {
+                    PostUpsertRepository.UpsertResult upserted = postUpsertRepository.upsert(source, batchList);
+                    // 변경된 행만 따로 알 수는 없으므로, 변경이 있었던 배치는 통째로 Elasticsearch에 반영합니다.
+                    if (upserted.hasChanges()) {
+                        postOutboxRepository.append(EventType.INDEX, batchList.stream()
+                                .map(Post::getId).filter(Objects::nonNull).distinct().collect(Collectors.toList()));
+                    }
+                    postOutboxRepository.append(EventType.NOTIFY, upserted.insertedPosts().stream()
+                            .map(Post::getId).collect(Collectors.toList()));
+                    return upserted;
+                });
+                newCount += result.insertedCount();
+                updateCount += result.updatedCount();
+                if (result.hasChanges()) {
+                    changedCount += batchList.size();
                 }
+            }
 
-                log.info("[{}] {}개의 신규 게시글 저장 / {}개의 게시글 업데이트 완료.", source, postsToSave.size() - updateCount, updateCount);
-
-                // 키워드별 알림 전송 로직
-                List<KeywordResDto> allKewords = memberFeign.getAllKeyword();
-                List<NotificationReqDto> notifications = new ArrayList<>();
-
-                for(Post post : newPosts) {
-                    for(KeywordResDto keywordResDto : allKewords) {
-                        // 게시글 제목에 키워드가 있다면 알림 대상
-                        if(post.getTitle().contains(keywordResDto.getKeywordName())) {
-                            notifications.add(
-                                    NotificationReqDto.builder()
-                                            .keywordId(keywordResDto.getKeywordId())
-                                            .memberId(keywordResDto.getMemberId())
-                                            .postId(post.getId())
-                                            .build());
-                        }
-                    }
+            // 2. 카운터만 바뀐 게시글: 카운터 컬럼만 UPDATE 하고, Elasticsearch 에도 부분 업데이트(COUNTERS)로 전달합니다.
+            List<Post> counterUpdates = plan.counterUpdates();
+            for (int i = 0; i < counterUpdates.size(); i += batchSize) {
+                List<Post> batchList = counterUpdates.subList(i, Math.min(i + batchSize, counterUpdates.size()));
+                transactionTemplate.executeWithoutResult(status -> {
+                    postUpsertRepository.updateCounters(batchList);
+                    postOutboxRepository.append(EventType.COUNTERS, batchList.stream()
+                            .map(Post::getId).distinct().collect(Collectors.toList()));
+                });
+                updateCount += batchList.size();
+                changedCount += batchList.size();
+            }
+
+            postCounterTracker.record(source, page);
+
+            pageCount++;
+            crawledCount += page.size();
+            counterUpdateCount += counterUpdates.size();
+            unchangedCount += plan.unchangedCount();
+            frozenCount += plan.frozenCount();
+            for (Post post : page) {
+                if (post.getSourceId() != null && (maxSourceId == null || post.getSourceId() > maxSourceId)) {
+                    maxSourceId = post.getSourceId();
                 }
-                
-                // 알림이 하나라도 있으면 전송
-                if(!notifications.isEmpty()) {
-                    memberFeign.createNotifications(notifications);
-                    log.info("키워드 알림 {} 건 전송 완료", notifications.size());
+                if (post.getCreatedAt() != null && (maxCreatedAt == null || post.getCreatedAt().isAfter(maxCreatedAt))) {
+                    maxCreatedAt = post.getCreatedAt();
                 }
-
-            } catch (Exception e) {
-                log.error("[{}] 크롤링 작업 중 오류 발생: {}", source, e.getMessage(), e);
-            } finally {
-                crawlerLock.unlock();
-                log.info("[{}] 작업 완료, 락을 해제합니다.", source);
             }
-        } else {
-            log.info("[{}] 다른 크롤러가 실행 중이므로 작업을 건너뜁니다.", source);
+            log.info("[{}] {}페이지 저장 완료 (누적 {}개, 신규 {}개)", source, pageCount, crawledCount, newCount);
         }
     }
 }
@@ -1,33 +1,45 @@
 package hyunsub.glemoa.collector.common;
 
+import hyunsub.glemoa.collector.common.board.BoardCrawlerRegistry;
 import hyunsub.glemoa.collector.config.CrawlerProperties;
-import hyunsub.glemoa.collector.repository.PostDocumentRepository;
+import hyunsub.glemoa.collector.repository.CrawlWatermarkRepository;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository;
 import hyunsub.glemoa.collector.repository.PostRepository;
+import hyunsub.glemoa.collector.repository.PostUpsertRepository;
 import hyunsub.glemoa.collector.service.ICrawler;
-import hyunsub.glemoa.collector.service.MemberFeign;
+import hyunsub.glemoa.collector.service.PostCounterTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.TaskScheduler;
-import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class DynamicCrawlerScheduler implements InitializingBean {
+public class DynamicCrawlerScheduler implements InitializingBean, DisposableBean {
 
     private final TaskScheduler taskScheduler;
     private final CrawlerProperties crawlerProperties;
     private final PostRepository postRepository;
-    private final PostDocumentRepository postDocumentRepository; // 추가: Elasticsearch Repository
-    private final MemberFeign memberFeign;
+    private final PostUpsertRepository postUpsertRepository;
+    private final PostOutboxRepository postOutboxRepository;
+    private final CrawlWatermarkRepository crawlWatermarkRepository;
+    private final PostCounterTracker postCounterTracker;
+    private final TransactionTemplate transactionTemplate;
     private final Map<String, ICrawler> crawlers;
+    private final BoardCrawlerRegistry boardCrawlerRegistry;
+    private final CrawlCoordinator crawlCoordinator;
 
     // [수정] 단일 공용 락 -> 크롤러별 개별 락을 보관하는 Map으로 변경
     private final Map<String, ReentrantLock> crawlerLocks = new ConcurrentHashMap<>();
@@ -35,23 +47,45 @@ public class DynamicCrawlerScheduler implements InitializingBean {
     @Value("${glemoa.batch-size:100}")
     private int batchSize;
 
+    // scheduler: TaskScheduler 스레드에서 크롤링까지 직접 실행 (기존 방식)
+    // virtual: cron 트리거는 작업을 넘기기만 하고, 실제 CrawlerJob은 가상 스레드에서 실행
+    @Value("${glemoa.crawl-executor:scheduler}")
+    private String crawlExecutor;
+
+    private ExecutorService virtualThreadExecutor;
+
     @Override
     public void afterPropertiesSet() {
-        log.info("동적 크롤러 스케줄러를 초기화합니다...");
+        log.info("동적 크롤러 스케줄러를 초기화합니다... (실행 방식: {})", crawlExecutor);
+        if (isVirtualThreadMode()) {
+            virtualThreadExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("crawler-vt-", 0).factory());
+        }
+        // 같은 cron 을 쓰는 크롤러끼리 주기 안에서 시작 시각을 나눠 갖습니다. (CrawlCoordinator)
+        Map<String, Integer> slotsByCron = new HashMap<>();
+        crawlerProperties.getCrawlers().stream()
+                .filter(CrawlerProperties.CrawlerConfig::isEnabled)
+                .forEach(config -> slotsByCron.merge(config.getCron(), 1, Integer::sum));
+        Map<String, Integer> nextSlot = new HashMap<>();
+
         crawlerProperties.getCrawlers().forEach(config -> {
             if (config.isEnabled()) {
-                ICrawler crawler = crawlers.get(config.getName());
+                // board 설정이 있으면 설정 기반 크롤러(BoardCrawler)를, 없으면 같은 이름의 크롤러 Bean 을 사용
+                ICrawler crawler = config.getBoard() != null ? boardCrawlerRegistry.find(config.getName()) : crawlers.get(config.getName());
                 if (crawler != null) {
-                    log.info("스케줄링 등록: {} (cron: {})", config.getName(), config.getCron());
+                    log.info("스케줄링 등록: {} (cron: {}{})", config.getName(), config.getCron(),
+                            config.isIncremental() ? ", 증분 / 카운터 갱신 " + config.getCounterRefreshMinutes() + "분" : "");
 
                     // [수정] 크롤러 이름에 맞는 개별 락을 찾거나 새로 생성
                     ReentrantLock individualLock = crawlerLocks.computeIfAbsent(config.getName(), k -> new ReentrantLock());
 
+                    // [수정] 개별 락(individualLock)을 CrawlerJob에 전달
+                    CrawlerJob job = new CrawlerJob(crawler, postRepository, postUpsertRepository, postOutboxRepository, crawlWatermarkRepository, postCounterTracker, transactionTemplate, config.getInitialCrawlDays(), batchSize,
+                            config.getLookbackMinutes(), config.getRestartCrawlMinutes(), config.isIncremental(), config.getCounterRefreshMinutes(), individualLock, crawlCoordinator.writerPermits());
+
+                    int slot = nextSlot.merge(config.getCron(), 1, Integer::sum) - 1;
                     taskScheduler.schedule(
-                        // [수정] 개별 락(individualLock)을 CrawlerJob에 전달
-                        new CrawlerJob(crawler, postRepository, postDocumentRepository, memberFeign, config.getInitialCrawlDays(), batchSize,
-                                config.getLookbackMinutes(), config.getRestartCrawlMinutes(), individualLock),
-                        new CronTrigger(config.getCron())
+                        isVirtualThreadMode() ? dispatch(config.getName(), job) : job,
+                        crawlCoordinator.trigger(config.getName(), config.getCron(), slot, slotsByCron.get(config.getCron()))
                     );
                 } else {
                     log.warn("설정된 크롤러 Bean을 찾을 수 없습니다: {}", config.getName());
@@ -61,4 +95,25 @@ public class DynamicCrawlerScheduler implements InitializingBean {
             }
         });
     }
-}
\ No newline at end of file
+
+    private boolean isVirtualThreadMode() {
+        return "virtual".equalsIgnoreCase(crawlExecutor);
+    }
+
+    // 스케줄러 스레드는 가상 스레드에 작업을 넘기고 바로 반환되므로, 느린 사이트가 다른 사이트의 트리거를 막지 않습니다.
+    // 동시 실행 수는 CrawlCoordinator 가 제한하고(자리가 나면 오래 갱신되지 않은 크롤러부터), 같은 크롤러의 중복 실행은 CrawlerJob의 개별 락이 한 번 더 막습니다.
+    private Runnable dispatch(String name, CrawlerJob job) {
+        return () -> {
+            log.debug("[{}] 크롤링 작업을 가상 스레드로 넘깁니다.", name);
+            crawlCoordinator.submit(name, job, virtualThreadExecutor);
+        };
+    }
+
+    @Override
+    public void destroy() {
+        if (virtualThreadExecutor != null) {
+            log.info("크롤링 가상 스레드 실행기를 종료합니다.");
+            virtualThreadExecutor.shutdownNow();
+        }
+    }
+}
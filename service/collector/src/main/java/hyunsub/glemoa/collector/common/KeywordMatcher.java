@@ -0,0 +1,184 @@
+package hyunsub.glemoa.collector.common;
+
+import hyunsub.glemoa.collector.dto.KeywordResDto;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 키워드 이름으로 만든 Aho-Corasick 오토마톤.
+ * 게시글 제목을 한 번만 훑으면서 제목에 포함된 모든 키워드(keywordId, memberId)를 찾아냅니다.
+ * 생성 이후에는 읽기 전용이므로 여러 크롤러 스레드에서 동시에 사용해도 안전합니다.
+ */
+public final class KeywordMatcher {
+
+    private static final KeywordMatcher EMPTY = compile(Collections.emptyList());
+
+    // 노드별 자식 전이: children[node] 는 정렬된 문자 배열, targets[node] 는 같은 위치의 다음 노드
+    private final char[][] children;
+    private final int[][] targets;
+    private final int[] fail;
+    // 해당 노드에서 끝나는 패턴 번호 (없으면 -1)
+    private final int[] patternAt;
+    // 실패 링크를 따라가며 만나는, 패턴이 끝나는 가장 가까운 노드 (없으면 -1)
+    private final int[] outputLink;
+    // 패턴 번호 -> 같은 키워드 이름을 등록한 구독 목록
+    private final List<List<KeywordResDto>> subscribers;
+
+    private KeywordMatcher(char[][] children, int[][] targets, int[] fail, int[] patternAt, int[] outputLink,
+                           List<List<KeywordResDto>> subscribers) {
+        this.children = children;
+        this.targets = targets;
+        this.fail = fail;
+        this.patternAt = patternAt;
+        this.outputLink = outputLink;
+        this.subscribers = subscribers;
+    }
+
+    public static KeywordMatcher empty() {
+        return EMPTY;
+    }
+
+    public static KeywordMatcher compile(List<KeywordResDto> keywords) {
+        // 같은 키워드 이름은 하나의 패턴으로 묶습니다. (여러 회원이 같은 키워드를 등록할 수 있음)
+        Map<String, List<KeywordResDto>> byName = new LinkedHashMap<>();
+        for (KeywordResDto keyword : keywords) {
+            String name = keyword.getKeywordName();
+            // 빈 키워드는 String.contains("") 처럼 모든 제목에 걸리므로 제외합니다.
+            if (name == null || name.isEmpty()) {
+                continue;
+            }
+            byName.computeIfAbsent(name, k -> new ArrayList<>()).add(keyword);
+        }
+
+        // 1. 트라이 구성
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(-1);
+
+        List<List<KeywordResDto>> subscribers = new ArrayList<>(byName.size());
+        for (Map.Entry<String, List<KeywordResDto>> entry : byName.entrySet()) {
+            String name = entry.getKey();
+            int node = 0;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                Integer next = trie.get(node).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(-1);
+                    trie.get(node).put(c, next);
+                }
+                node = next;
+            }
+            terminal.set(node, subscribers.size());
+            subscribers.add(List.copyOf(entry.getValue()));
+        }
+
+        // 2. 배열 형태로 압축 (이진 탐색용으로 문자 순 정렬 유지)
+        int size = trie.size();
+        char[][] children = new char[size][];
+        int[][] targets = new int[size][];
+        int[] patternAt = new int[size];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> edges = trie.get(node);
+            children[node] = new char[edges.size()];
+            targets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                children[node][i] = edge.getKey();
+                targets[node][i] = edge.getValue();
+                i++;
+            }
+            patternAt[node] = terminal.get(node);
+        }
+
+        // 3. BFS로 실패 링크와 출력 링크 계산
+        int[] fail = new int[size];
+        int[] outputLink = new int[size];
+        Arrays.fill(outputLink, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < children[node].length; i++) {
+                char c = children[node][i];
+                int child = targets[node][i];
+                int f = fail[node];
+                int next = step(children, targets, f, c);
+                while (next < 0 && f != 0) {
+                    f = fail[f];
+                    next = step(children, targets, f, c);
+                }
+                fail[child] = next < 0 ? 0 : next;
+                int failNode = fail[child];
+                outputLink[child] = patternAt[failNode] >= 0 ? failNode : outputLink[failNode];
+                queue.add(child);
+            }
+        }
+
+        return new KeywordMatcher(children, targets, fail, patternAt, outputLink, subscribers);
+    }
+
+    private static int step(char[][] children, int[][] targets, int node, char c) {
+        int idx = Arrays.binarySearch(children[node], c);
+        return idx < 0 ? -1 : targets[node][idx];
+    }
+
+    public boolean isEmpty() {
+        return subscribers.isEmpty();
+    }
+
+    public int patternCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * 제목에 포함된 키워드의 구독 정보를 모두 반환합니다.
+     * 같은 키워드가 제목에 여러 번 나와도 한 번만 반환합니다.
+     */
+    public List<KeywordResDto> match(String title) {
+        if (title == null || subscribers.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<KeywordResDto> hits = null;
+        BitSet matched = null;
+        int node = 0;
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            int next = step(children, targets, node, c);
+            while (next < 0 && node != 0) {
+                node = fail[node];
+                next = step(children, targets, node, c);
+            }
+            node = next < 0 ? 0 : next;
+
+            int out = patternAt[node] >= 0 ? node : outputLink[node];
+            while (out >= 0) {
+                int pattern = patternAt[out];
+                if (matched == null) {
+                    matched = new BitSet();
+                    hits = new ArrayList<>();
+                }
+                if (!matched.get(pattern)) {
+                    matched.set(pattern);
+                    hits.addAll(subscribers.get(pattern));
+                }
+                out = outputLink[out];
+            }
+        }
+        return hits == null ? Collections.emptyList() : hits;
+    }
+}
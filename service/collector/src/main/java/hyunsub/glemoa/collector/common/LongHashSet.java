@@ -0,0 +1,107 @@
+package hyunsub.glemoa.collector.common;
+
+/**
+ * long 값을 박싱 없이 저장하는 open addressing(linear probing) 해시 집합.
+ * Set<Long> 은 원소마다 Long 객체와 HashMap 노드를 만들어 원소당 50바이트가 넘게 들지만,
+ * 여기서는 long 배열 하나만 쓰므로 원소당 8~16바이트입니다. (적재율 0.5 이하 유지)
+ * 삭제는 지원하지 않습니다. 동기화하지 않으므로 호출하는 쪽에서 잠가야 합니다.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    private long[] table;
+    private int size;
+    // 0 은 빈 칸 표시로 쓰므로 따로 기록합니다.
+    private boolean containsZero;
+
+    public LongHashSet(int expectedSize) {
+        table = new long[tableSizeFor(expectedSize)];
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int mask = table.length - 1;
+        for (int i = index(value, mask); ; i = (i + 1) & mask) {
+            long current = table[i];
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == value) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 새로 추가되었으면 true.
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        if ((size + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        if (!insert(table, value)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static boolean insert(long[] target, long value) {
+        int mask = target.length - 1;
+        for (int i = index(value, mask); ; i = (i + 1) & mask) {
+            long current = target[i];
+            if (current == EMPTY) {
+                target[i] = value;
+                return true;
+            }
+            if (current == value) {
+                return false;
+            }
+        }
+    }
+
+    private void rehash(int newLength) {
+        long[] newTable = new long[newLength];
+        for (long value : table) {
+            if (value != EMPTY) {
+                insert(newTable, value);
+            }
+        }
+        table = newTable;
+    }
+
+    // 게시글 번호는 연속된 값이 많으므로 섞어서 한쪽에 몰리지 않게 합니다. (murmur3 fmix64)
+    private static int index(long value, int mask) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Math.max(16, expectedSize * 2);
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
@@ -0,0 +1,177 @@
+package hyunsub.glemoa.collector.common;
+
+/**
+ * sourceId 별 마지막으로 확인한 카운터를 primitive 배열에 담는 고정 크기 캐시. (한 source 당 하나)
+ * 게시글마다 객체를 만들지 않고 슬롯 번호로 배열(struct-of-arrays)에 접근하므로, 슬롯당 약 50바이트만 씁니다.
+ * - direct-mapped: sourceId 해시로 슬롯이 하나로 정해지고, 충돌하면 더 최근에 작성된 게시글이 슬롯을 차지합니다.
+ * - 크기는 생성 시 고정(capacity)이라 메모리 사용량이 게시글 수와 상관없이 일정합니다.
+ * - 캐시에서 밀려난 게시글은 호출하는 쪽이 DB(upsert) 경로로 처리하면 되므로, 정확성에는 영향이 없습니다.
+ * 카운터 세 개는 long 하나에 묶어 저장합니다. (조회 28비트, 댓글/추천 각 18비트, 넘으면 최댓값으로 고정)
+ * 동기화하지 않으므로 호출하는 쪽에서 잠가야 합니다.
+ */
+public final class PostCounterCache {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final int VIEW_BITS = 28;
+    private static final int COUNT_BITS = 18;
+    private static final long VIEW_MAX = (1L << VIEW_BITS) - 1;
+    private static final long COUNT_MAX = (1L << COUNT_BITS) - 1;
+
+    private final int mask;
+    private final long[] sourceIds;     // 0: 빈 슬롯
+    private final long[] postIds;
+    private final long[] counters;      // pack(comment, view, recommendation)
+    private final int[] titleHashes;
+    private final long[] createdAts;    // epoch 초 (LocalDateTime 을 UTC 기준으로 변환한 값)
+    private final long[] refreshedAts;  // epoch 초
+    private final float[] velocities;   // 분당 가중 변화량 (-1: 아직 모름)
+    private final byte[] tiers;
+    private int size;
+
+    public PostCounterCache(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+        mask = slots - 1;
+        sourceIds = new long[slots];
+        postIds = new long[slots];
+        counters = new long[slots];
+        titleHashes = new int[slots];
+        createdAts = new long[slots];
+        refreshedAts = new long[slots];
+        velocities = new float[slots];
+        tiers = new byte[slots];
+    }
+
+    /**
+     * sourceId 가 들어 있는 슬롯 번호, 없으면 NOT_FOUND.
+     */
+    public int find(long sourceId) {
+        int slot = slotOf(sourceId);
+        return sourceId != 0 && sourceIds[slot] == sourceId ? slot : NOT_FOUND;
+    }
+
+    /**
+     * 슬롯을 차지하고 번호를 반환합니다. 이미 있으면 그 슬롯을 그대로 돌려줍니다.
+     * 다른 게시글이 차지하고 있으면 더 최근에 작성된 쪽이 남고, 이번 게시글이 밀리면 NOT_FOUND.
+     */
+    public int put(long sourceId, long postId, long createdAt) {
+        if (sourceId == 0) {
+            return NOT_FOUND;
+        }
+        int slot = slotOf(sourceId);
+        long resident = sourceIds[slot];
+        if (resident == sourceId) {
+            return slot;
+        }
+        if (resident != 0 && createdAts[slot] > createdAt) {
+            return NOT_FOUND;
+        }
+        if (resident == 0) {
+            size++;
+        }
+        sourceIds[slot] = sourceId;
+        postIds[slot] = postId;
+        createdAts[slot] = createdAt;
+        counters[slot] = 0;
+        titleHashes[slot] = 0;
+        refreshedAts[slot] = 0;
+        velocities[slot] = -1;
+        tiers[slot] = 0;
+        return slot;
+    }
+
+    public void remove(int slot) {
+        if (sourceIds[slot] != 0) {
+            sourceIds[slot] = 0;
+            size--;
+        }
+    }
+
+    public int capacity() {
+        return sourceIds.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isOccupied(int slot) {
+        return sourceIds[slot] != 0;
+    }
+
+    public long postId(int slot) {
+        return postIds[slot];
+    }
+
+    public long createdAt(int slot) {
+        return createdAts[slot];
+    }
+
+    public long counters(int slot) {
+        return counters[slot];
+    }
+
+    public int titleHash(int slot) {
+        return titleHashes[slot];
+    }
+
+    public long refreshedAt(int slot) {
+        return refreshedAts[slot];
+    }
+
+    public float velocity(int slot) {
+        return velocities[slot];
+    }
+
+    public byte tier(int slot) {
+        return tiers[slot];
+    }
+
+    public void update(int slot, long packedCounters, int titleHash, long refreshedAt) {
+        counters[slot] = packedCounters;
+        titleHashes[slot] = titleHash;
+        refreshedAts[slot] = refreshedAt;
+    }
+
+    public void setRefreshedAt(int slot, long refreshedAt) {
+        refreshedAts[slot] = refreshedAt;
+    }
+
+    public void setVelocity(int slot, float velocity) {
+        velocities[slot] = velocity;
+    }
+
+    public void setTier(int slot, byte tier) {
+        tiers[slot] = tier;
+    }
+
+    public static long pack(int commentCount, int viewCount, int recommendationCount) {
+        return (clamp(viewCount, VIEW_MAX) << (COUNT_BITS * 2))
+                | (clamp(commentCount, COUNT_MAX) << COUNT_BITS)
+                | clamp(recommendationCount, COUNT_MAX);
+    }
+
+    public static int viewCount(long packed) {
+        return (int) (packed >>> (COUNT_BITS * 2));
+    }
+
+    public static int commentCount(long packed) {
+        return (int) ((packed >>> COUNT_BITS) & COUNT_MAX);
+    }
+
+    public static int recommendationCount(long packed) {
+        return (int) (packed & COUNT_MAX);
+    }
+
+    private static long clamp(int value, long max) {
+        return Math.min(Math.max(value, 0), max);
+    }
+
+    private int slotOf(long sourceId) {
+        long h = sourceId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
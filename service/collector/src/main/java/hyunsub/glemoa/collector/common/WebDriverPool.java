@@ -0,0 +1,254 @@
+package hyunsub.glemoa.collector.common;
+
+import hyunsub.glemoa.collector.common.fetch.HostRateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selenium 기반 크롤러(ArcaLive, Clien, Fmkorea)가 공유하는 ChromeDriver 풀.
+ * 크롤링마다 Chrome을 새로 띄우지 않고 빌려 쓰고 돌려줍니다.
+ * - 동시에 빌려줄 수 있는 브라우저 수는 max-size 로 제한됩니다.
+ * - 빌려줄 때 세션이 살아 있는지 확인하고, 죽어 있으면 새로 띄웁니다.
+ * - 한 세션이 max-pages-per-session 페이지 이상 방문하면 반납 시 종료하고 새 세션으로 교체합니다.
+ * - idle-timeout 동안 쓰이지 않은 브라우저는 주기적으로 정리합니다.
+ * - 빌릴 때마다 User-Agent를 지정하거나 무작위로 바꿔 줍니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebDriverPool implements InitializingBean, DisposableBean {
+
+    private static final List<String> USER_AGENTS = List.of(
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/125.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:126.0) Gecko/20100101 Firefox/126.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/125.0.0.0 Safari/537.36"
+    );
+
+    private final HostRateLimiter hostRateLimiter;
+
+    @Value("${glemoa.webdriver.driver-path:/usr/local/bin/chromedriver}")
+    private String driverPath;
+
+    @Value("${glemoa.webdriver.max-size:2}")
+    private int maxSize;
+
+    @Value("${glemoa.webdriver.max-pages-per-session:300}")
+    private int maxPagesPerSession;
+
+    @Value("${glemoa.webdriver.idle-timeout-seconds:900}")
+    private long idleTimeoutSeconds;
+
+    @Value("${glemoa.webdriver.borrow-timeout-seconds:300}")
+    private long borrowTimeoutSeconds;
+
+    // 쉬고 있는 브라우저 (가장 최근에 반납된 것을 먼저 꺼내 씀)
+    private final ConcurrentLinkedDeque<PooledDriver> idleDrivers = new ConcurrentLinkedDeque<>();
+    // 빌려준 브라우저 수를 제한하는 허가
+    private Semaphore leasePermits;
+    private volatile boolean closed = false;
+
+    @Override
+    public void afterPropertiesSet() {
+        // WebDriverManager를 사용하지 않음
+        System.setProperty("webdriver.chrome.driver", driverPath);
+        leasePermits = new Semaphore(maxSize, true);
+        log.info("WebDriver 풀 초기화 (최대 {}개, 세션당 최대 {}페이지, 유휴 {}초 후 정리)", maxSize, maxPagesPerSession, idleTimeoutSeconds);
+    }
+
+    /**
+     * 무작위 User-Agent로 브라우저를 빌립니다.
+     */
+    public Lease borrow() {
+        return borrow(USER_AGENTS.get(ThreadLocalRandom.current().nextInt(USER_AGENTS.size())));
+    }
+
+    /**
+     * 지정한 User-Agent로 브라우저를 빌립니다. 반드시 close()로 반납해야 합니다.
+     */
+    public Lease borrow(String userAgent) {
+        if (closed) {
+            throw new IllegalStateException("WebDriver 풀이 이미 종료되었습니다.");
+        }
+        try {
+            if (!leasePermits.tryAcquire(borrowTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("WebDriver를 " + borrowTimeoutSeconds + "초 안에 빌리지 못했습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("WebDriver 대기 중 인터럽트가 발생했습니다.", e);
+        }
+
+        try {
+            PooledDriver pooled = takeHealthyIdleDriver();
+            if (pooled == null) {
+                pooled = new PooledDriver(createDriver());
+                log.info("새 WebDriver 세션을 생성했습니다. (최대 {}개)", maxSize);
+            }
+            pooled.overrideUserAgent(userAgent);
+            return new Lease(pooled);
+        } catch (RuntimeException e) {
+            leasePermits.release();
+            throw e;
+        }
+    }
+
+    private PooledDriver takeHealthyIdleDriver() {
+        PooledDriver pooled;
+        while ((pooled = idleDrivers.pollFirst()) != null) {
+            if (pooled.isAlive()) {
+                return pooled;
+            }
+            log.warn("응답하지 않는 WebDriver 세션을 폐기합니다.");
+            pooled.quit();
+        }
+        return null;
+    }
+
+    private WebDriver createDriver() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless"); // 브라우저 창을 띄우지 않는 헤드리스 모드
+        options.addArguments("--disable-gpu"); // GPU 가속 비활성화 (일부 시스템에서 필요)
+        options.addArguments("--no-sandbox"); // Sandbox 모드 비활성화 (Linux에서 필요할 수 있음)
+        options.addArguments("--disable-dev-shm-usage"); // /dev/shm 사용 비활성화 (Linux에서 필요할 수 있음)
+        options.addArguments("--remote-allow-origins=*"); // 최근 Chrome 정책 변경으로 인한 연결 문제 해결
+        return new ChromeDriver(options);
+    }
+
+    private void release(PooledDriver pooled, boolean broken) {
+        try {
+            if (closed || broken) {
+                pooled.quit();
+            } else if (pooled.pages >= maxPagesPerSession) {
+                log.info("WebDriver 세션이 {}페이지를 방문하여 교체합니다.", pooled.pages);
+                pooled.quit();
+            } else {
+                pooled.lastReturnedAt = Instant.now();
+                idleDrivers.offerFirst(pooled);
+            }
+        } finally {
+            leasePermits.release();
+        }
+    }
+
+    // 오랫동안 쓰이지 않은 브라우저를 종료해 메모리를 돌려줍니다.
+    @Scheduled(fixedDelayString = "${glemoa.webdriver.eviction-interval-ms:60000}")
+    public void evictIdleDrivers() {
+        Instant threshold = Instant.now().minus(Duration.ofSeconds(idleTimeoutSeconds));
+        for (PooledDriver pooled : idleDrivers) {
+            if (pooled.lastReturnedAt.isBefore(threshold) && idleDrivers.remove(pooled)) {
+                log.info("유휴 WebDriver 세션을 종료합니다. (마지막 사용: {})", pooled.lastReturnedAt);
+                pooled.quit();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        PooledDriver pooled;
+        while ((pooled = idleDrivers.pollFirst()) != null) {
+            pooled.quit();
+        }
+        log.info("WebDriver 풀을 종료합니다.");
+    }
+
+    private static final class PooledDriver {
+        private final WebDriver driver;
+        private int pages = 0;
+        private Instant lastReturnedAt = Instant.now();
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        private boolean isAlive() {
+            try {
+                driver.getWindowHandle();
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private void overrideUserAgent(String userAgent) {
+            if (driver instanceof ChromeDriver chromeDriver) {
+                chromeDriver.executeCdpCommand("Network.setUserAgentOverride", Map.of("userAgent", userAgent));
+            }
+        }
+
+        private void quit() {
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                log.warn("WebDriver 종료 중 오류 발생: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 빌린 브라우저. try-with-resources 또는 finally 에서 close() 해야 풀로 돌아갑니다.
+     */
+    public final class Lease implements AutoCloseable {
+        private final PooledDriver pooled;
+        private boolean broken = false;
+        private boolean returned = false;
+
+        private Lease(PooledDriver pooled) {
+            this.pooled = pooled;
+        }
+
+        public WebDriver driver() {
+            return pooled.driver;
+        }
+
+        // 도메인별 속도 제한을 받은 뒤 페이지를 열고, 세션 재활용 기준이 되는 방문 페이지 수를 셉니다.
+        // (Selenium 은 응답 코드를 알 수 없으므로 로딩 시간만 속도 조정에 반영합니다.)
+        public void get(String url) {
+            try {
+                hostRateLimiter.acquire(url);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("요청 속도 제한 대기 중 인터럽트가 발생했습니다.", e);
+            }
+            pooled.pages++;
+            long start = System.nanoTime();
+            try {
+                pooled.driver.get(url);
+            } catch (RuntimeException e) {
+                hostRateLimiter.onFailure(url);
+                throw e;
+            }
+            hostRateLimiter.onResponse(url, 200, (System.nanoTime() - start) / 1_000_000, null);
+        }
+
+        // 세션이 깨졌을 가능성이 있으면 호출합니다. 반납 시 풀에 넣지 않고 종료합니다.
+        public void invalidate() {
+            broken = true;
+        }
+
+        @Override
+        public void close() {
+            if (!returned) {
+                returned = true;
+                release(pooled, broken);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package hyunsub.glemoa.collector.common.board;
+
+import hyunsub.glemoa.collector.common.fetch.PageFetcher;
+import hyunsub.glemoa.collector.config.CrawlerProperties;
+import hyunsub.glemoa.collector.service.ICrawler;
+import hyunsub.glemoa.collector.service.impl.BoardCrawler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * glemoa.crawlers[].board 설정으로 만드는 크롤러 목록.
+ * 시작할 때 모든 BoardSpec 을 컴파일하므로, 선택자/정규식/날짜 형식이 잘못되었으면 애플리케이션이 뜨지 않습니다.
+ * 새 게시판은 코드 없이 crawlers 에 board 항목을 추가하면 됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardCrawlerRegistry implements InitializingBean {
+
+    private final CrawlerProperties crawlerProperties;
+    private final PageFetcher pageFetcher;
+
+    private final Map<String, ICrawler> crawlers = new HashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        if (crawlerProperties.getCrawlers() == null) {
+            return;
+        }
+        crawlerProperties.getCrawlers().forEach(config -> {
+            if (config.getBoard() != null) {
+                CompiledBoard board = CompiledBoard.compile(config.getName(), config.getBoard());
+                crawlers.put(config.getName(), new BoardCrawler(pageFetcher, board));
+                log.info("설정 기반 크롤러 등록: {} ({})", config.getName(), config.getBoard().getUrl());
+            }
+        });
+    }
+
+    /**
+     * board 설정이 있는 크롤러, 없으면 null.
+     */
+    public ICrawler find(String name) {
+        return crawlers.get(name);
+    }
+}
@@ -0,0 +1,162 @@
+package hyunsub.glemoa.collector.common.board;
+
+import hyunsub.glemoa.collector.common.parse.CountParser;
+import hyunsub.glemoa.collector.common.parse.TimeParser;
+import hyunsub.glemoa.collector.config.CrawlerProperties.BoardSpec;
+import hyunsub.glemoa.collector.entity.Post;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Collector;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * BoardSpec 을 미리 컴파일한 목록 페이지 파서. 시작할 때 한 번 만들고, 이후에는 읽기만 하므로 여러 스레드에서 같이 써도 됩니다.
+ * - 선택자는 Jsoup Evaluator 로, 정규식은 Pattern 으로, 날짜 형식은 DateTimeFormatter 로 미리 만들어 둡니다.
+ * - 숫자는 CountParser, 작성 시각은 TimeParser 로 읽습니다. (상대 시간 "N분 전" 은 date-formats 없이도 처리)
+ */
+public final class CompiledBoard {
+
+    private final String name;
+    private final String source;
+    private final String url;
+    private final int firstPage;
+    private final Evaluator rows;
+    private final Evaluator lastPage;
+    private final String linkPrefix;
+    private final CompiledField title;
+    private final CompiledField link;
+    private final CompiledField sourceId;
+    private final CompiledField author;
+    private final CompiledField commentCount;
+    private final CompiledField viewCount;
+    private final CompiledField recommendationCount;
+    private final CompiledField createdAt;
+    private final DateTimeFormatter[] dateFormats;
+
+    private CompiledBoard(String name, BoardSpec spec) {
+        this.name = name;
+        this.source = require(spec.getSource(), name + ".board.source");
+        this.url = require(spec.getUrl(), name + ".board.url");
+        this.firstPage = spec.getFirstPage();
+        this.rows = selector(require(spec.getRows(), name + ".board.rows"), name + ".board.rows");
+        this.lastPage = spec.getLastPage() == null ? null : selector(spec.getLastPage(), name + ".board.last-page");
+        this.linkPrefix = spec.getLinkPrefix() == null ? "" : spec.getLinkPrefix();
+        this.title = required(name + ".board.title", CompiledField.compile(name + ".board.title", spec.getTitle()));
+        this.link = required(name + ".board.link", CompiledField.compile(name + ".board.link", spec.getLink()));
+        this.sourceId = required(name + ".board.source-id", CompiledField.compile(name + ".board.source-id", spec.getSourceId()));
+        this.author = CompiledField.compile(name + ".board.author", spec.getAuthor());
+        this.commentCount = CompiledField.compile(name + ".board.comment-count", spec.getCommentCount());
+        this.viewCount = CompiledField.compile(name + ".board.view-count", spec.getViewCount());
+        this.recommendationCount = CompiledField.compile(name + ".board.recommendation-count", spec.getRecommendationCount());
+        this.createdAt = required(name + ".board.created-at", CompiledField.compile(name + ".board.created-at", spec.getCreatedAt()));
+        List<String> formats = spec.getDateFormats();
+        if (formats == null || formats.isEmpty()) {
+            throw new IllegalArgumentException(name + ".board.date-formats 설정이 없습니다.");
+        }
+        this.dateFormats = new DateTimeFormatter[formats.size()];
+        for (int i = 0; i < formats.size(); i++) {
+            try {
+                dateFormats[i] = DateTimeFormatter.ofPattern(formats.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(name + ".board.date-formats 형식이 잘못되었습니다: " + formats.get(i), e);
+            }
+        }
+    }
+
+    /**
+     * 설정이 빠졌거나 선택자/정규식/날짜 형식이 잘못되었으면 IllegalArgumentException.
+     */
+    public static CompiledBoard compile(String name, BoardSpec spec) {
+        return new CompiledBoard(name, spec);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public String pageUrl(int page) {
+        return String.format(url, page);
+    }
+
+    public int firstPage() {
+        return firstPage;
+    }
+
+    public boolean isLastPage(Document document) {
+        return lastPage != null && Collector.findFirst(lastPage, document) != null;
+    }
+
+    public Elements rows(Document document) {
+        return Collector.collect(rows, document);
+    }
+
+    /**
+     * 게시글 한 줄을 Post 로 바꿉니다. 제목/링크/번호/작성 시각 중 하나라도 없으면 null.
+     * 번호나 날짜 형식이 맞지 않으면 IllegalArgumentException (DateTimeParseException, NumberFormatException).
+     */
+    public Post extract(Element row, LocalDateTime now) {
+        String titleValue = title.extract(row);
+        String linkValue = link.extract(row);
+        String sourceIdValue = sourceId.extract(row);
+        String createdAtValue = createdAt.extract(row);
+        if (isEmpty(titleValue) || isEmpty(linkValue) || isEmpty(sourceIdValue) || isEmpty(createdAtValue)) {
+            return null;
+        }
+
+        return Post.builder()
+                .sourceId(Long.parseLong(sourceIdValue))
+                .title(titleValue)
+                .link(linkPrefix + linkValue)
+                .author(author == null ? null : author.extract(row))
+                .commentCount(count(commentCount, row))
+                .viewCount(count(viewCount, row))
+                .recommendationCount(count(recommendationCount, row))
+                .createdAt(TimeParser.parse(createdAtValue, dateFormats, now))
+                .source(source)
+                .build();
+    }
+
+    // 설정하지 않은 카운터는 null (사이트에 없는 값), 요소가 없으면 0
+    private static Integer count(CompiledField field, Element row) {
+        if (field == null) {
+            return null;
+        }
+        return CountParser.parse(field.extract(row), 0);
+    }
+
+    private static Evaluator selector(String query, String name) {
+        try {
+            return QueryParser.parse(query);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(name + " 선택자가 잘못되었습니다: " + query, e);
+        }
+    }
+
+    private static String require(String value, String name) {
+        if (isEmpty(value)) {
+            throw new IllegalArgumentException(name + " 설정이 없습니다.");
+        }
+        return value;
+    }
+
+    private static CompiledField required(String name, CompiledField field) {
+        if (field == null) {
+            throw new IllegalArgumentException(name + " 설정이 없습니다.");
+        }
+        return field;
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,96 @@
+package hyunsub.glemoa.collector.common.board;
+
+import hyunsub.glemoa.collector.config.CrawlerProperties.FieldSpec;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Collector;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * FieldSpec 을 미리 컴파일한 형태. 선택자(Evaluator)와 정규식(Pattern)은 시작할 때 한 번만 만듭니다.
+ */
+final class CompiledField {
+
+    private final Evaluator selector; // null: 게시글 줄 자신
+    private final int index;
+    private final String attr;
+    private final Pattern pattern;
+    private final boolean join;
+    private final String fallback;
+
+    private CompiledField(Evaluator selector, int index, String attr, Pattern pattern, boolean join, String fallback) {
+        this.selector = selector;
+        this.index = index;
+        this.attr = attr;
+        this.pattern = pattern;
+        this.join = join;
+        this.fallback = fallback;
+    }
+
+    /**
+     * spec 이 null 이면 null. 선택자나 정규식이 잘못되었으면 IllegalArgumentException.
+     */
+    static CompiledField compile(String name, FieldSpec spec) {
+        if (spec == null) {
+            return null;
+        }
+        try {
+            return new CompiledField(
+                    isBlank(spec.getSelector()) ? null : QueryParser.parse(spec.getSelector()),
+                    spec.getIndex(),
+                    isBlank(spec.getAttr()) ? null : spec.getAttr(),
+                    isBlank(spec.getPattern()) ? null : Pattern.compile(spec.getPattern()),
+                    spec.isJoin(),
+                    spec.getFallback());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(name + " 설정이 잘못되었습니다: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 요소가 없거나 정규식이 맞지 않으면 fallback.
+     */
+    String extract(Element row) {
+        String value = read(row);
+        if (value == null) {
+            return fallback;
+        }
+        value = value.trim();
+        if (pattern != null) {
+            Matcher matcher = pattern.matcher(value);
+            if (!matcher.find()) {
+                return fallback;
+            }
+            value = matcher.groupCount() > 0 ? matcher.group(1) : matcher.group();
+        }
+        return value;
+    }
+
+    private String read(Element row) {
+        if (selector == null) {
+            return valueOf(row);
+        }
+        if (join) {
+            Elements elements = Collector.collect(selector, row);
+            return elements.isEmpty() ? null : String.join(" ", elements.eachText());
+        }
+        if (index == 0) {
+            Element element = Collector.findFirst(selector, row);
+            return element == null ? null : valueOf(element);
+        }
+        Elements elements = Collector.collect(selector, row);
+        return index < elements.size() ? valueOf(elements.get(index)) : null;
+    }
+
+    private String valueOf(Element element) {
+        return attr == null ? element.text() : element.attr(attr);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
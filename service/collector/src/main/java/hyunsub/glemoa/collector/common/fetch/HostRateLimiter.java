@@ -0,0 +1,168 @@
+package hyunsub.glemoa.collector.common.fetch;
+
+import hyunsub.glemoa.collector.config.CrawlerProperties;
+import hyunsub.glemoa.collector.config.CrawlerProperties.RateLimit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 도메인별 적응형 요청 속도 제한기 (토큰 버킷 + AIMD).
+ * 크롤러마다 박혀 있던 Thread.sleep(1~3초 무작위) 대신 모든 페이지 요청이 이 제한기를 거칩니다.
+ * - 도메인마다 초당 허용 요청 수(permits-per-second)와 버스트만큼 토큰을 채우고, 토큰이 없으면 기다립니다.
+ * - 429/503 응답이면 속도를 절반으로 줄이고(Retry-After 가 있으면 그동안 멈춤), 응답이 느리면 조금 줄입니다.
+ * - 정상 응답이 이어지면 max-permits-per-second 까지 조금씩 올립니다.
+ * 설정은 CrawlerProperties 의 크롤러별 host / rate-limit 을 사용하고, 등록되지 않은 도메인은 기본값을 씁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HostRateLimiter implements InitializingBean {
+
+    private final CrawlerProperties crawlerProperties;
+
+    private final Map<String, RateLimit> configs = new HashMap<>();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        if (crawlerProperties.getCrawlers() == null) {
+            return;
+        }
+        crawlerProperties.getCrawlers().forEach(config -> {
+            if (config.getHost() != null) {
+                configs.put(config.getHost(), config.getRateLimit());
+                log.info("요청 속도 제한 등록: {} ({}, 초당 {}회, 범위 {}~{})", config.getHost(), config.getName(),
+                        config.getRateLimit().getPermitsPerSecond(),
+                        config.getRateLimit().getMinPermitsPerSecond(), config.getRateLimit().getMaxPermitsPerSecond());
+            }
+        });
+    }
+
+    /**
+     * url 의 도메인에 요청을 보내도 될 때까지 기다립니다.
+     */
+    public void acquire(String url) throws InterruptedException {
+        bucketFor(url).acquire();
+    }
+
+    /**
+     * 응답 결과로 도메인의 요청 속도를 조정합니다.
+     */
+    public void onResponse(String url, int status, long latencyMillis, Duration retryAfter) {
+        Bucket bucket = bucketFor(url);
+        if (status == 429 || status == 503) {
+            bucket.throttle(0.5, retryAfter, "HTTP " + status);
+        } else if (latencyMillis > bucket.config.getSlowResponseMs()) {
+            bucket.throttle(0.8, null, "느린 응답 " + latencyMillis + "ms");
+        } else if (status < 400) {
+            bucket.recover();
+        }
+    }
+
+    // 연결 실패/타임아웃은 느린 응답과 같이 취급합니다.
+    public void onFailure(String url) {
+        bucketFor(url).throttle(0.8, null, "요청 실패");
+    }
+
+    private Bucket bucketFor(String url) {
+        String host = hostOf(url);
+        return buckets.computeIfAbsent(host, h -> new Bucket(h, resolveConfig(h)));
+    }
+
+    // www. 유무와 상관없이 같은 설정을 씁니다.
+    private RateLimit resolveConfig(String host) {
+        RateLimit config = configs.get(host);
+        if (config == null && host.startsWith("www.")) {
+            config = configs.get(host.substring(4));
+        }
+        if (config == null) {
+            config = configs.get("www." + host);
+        }
+        return config != null ? config : new RateLimit();
+    }
+
+    static String hostOf(String url) {
+        String host = URI.create(url).getHost();
+        return host == null ? url : host;
+    }
+
+    private static final class Bucket {
+        private final String host;
+        private final RateLimit config;
+        private final ReentrantLock lock = new ReentrantLock();
+        private double rate;
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+        private long pausedUntilNanos = 0;
+
+        private Bucket(String host, RateLimit config) {
+            this.host = host;
+            this.config = config;
+            this.rate = config.getPermitsPerSecond();
+            this.tokens = config.getBurst();
+        }
+
+        private void acquire() throws InterruptedException {
+            while (true) {
+                long waitNanos;
+                lock.lock();
+                try {
+                    long now = System.nanoTime();
+                    refill(now);
+                    if (now >= pausedUntilNanos && tokens >= 1) {
+                        tokens -= 1;
+                        return;
+                    }
+                    waitNanos = Math.max(pausedUntilNanos - now, (long) ((1 - tokens) / rate * 1_000_000_000L));
+                } finally {
+                    lock.unlock();
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, 1_000_000L));
+            }
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(config.getBurst(), tokens + (now - lastRefillNanos) / 1_000_000_000.0 * rate);
+            lastRefillNanos = now;
+        }
+
+        // 곱셈 감소: 속도를 factor 배로 줄이고, retryAfter 가 있으면 그동안 요청을 멈춥니다.
+        private void throttle(double factor, Duration retryAfter, String reason) {
+            lock.lock();
+            try {
+                refill(System.nanoTime());
+                double previous = rate;
+                rate = Math.max(config.getMinPermitsPerSecond(), rate * factor);
+                if (retryAfter != null && !retryAfter.isNegative()) {
+                    pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + retryAfter.toNanos());
+                }
+                log.info("[{}] 요청 속도 감소 ({}): 초당 {} -> {}회{}", host, reason,
+                        String.format("%.2f", previous), String.format("%.2f", rate),
+                        retryAfter != null ? " (" + retryAfter.toSeconds() + "초 대기)" : "");
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 덧셈 증가: 정상 응답마다 기본 속도의 10%씩 올립니다.
+        private void recover() {
+            lock.lock();
+            try {
+                refill(System.nanoTime());
+                rate = Math.min(config.getMaxPermitsPerSecond(), rate + config.getPermitsPerSecond() * 0.1);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
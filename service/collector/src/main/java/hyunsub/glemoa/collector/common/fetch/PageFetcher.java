@@ -0,0 +1,279 @@
+package hyunsub.glemoa.collector.common.fetch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 크롤러가 공유하는 목록 페이지 조회기.
+ * 호출마다 새 HttpURLConnection 을 여는 Jsoup.connect 대신, 애플리케이션 전체가 하나의 java.net.http.HttpClient 를 씁니다.
+ * - 호스트별 keep-alive 연결을 재사용하고, 서버가 지원하면 HTTP/2 로 통신합니다. (ALPN 협상, 미지원 시 HTTP/1.1)
+ * - gzip/deflate 압축 전송을 요청하고, 응답은 스트림으로 풀어서 Jsoup 파서에 넘깁니다.
+ * - 호스트별 동시 요청 수를 max-connections-per-host 로, 모든 호스트를 합친 동시 요청 수를 max-concurrent-requests 로 제한하고, 연결/응답 타임아웃을 공통으로 적용합니다.
+ * - 모든 요청은 HostRateLimiter 로 도메인별 속도 제한을 받고, 응답 상태/지연 시간을 다시 알려 줍니다.
+ * 같은 URL을 다시 가져올 때 변경이 없으면 파싱을 건너뛰고 "변경 없음"을 돌려줍니다.
+ * - 이전 응답의 ETag / Last-Modified 로 If-None-Match / If-Modified-Since 를 보내고, 304 면 본문을 받지 않습니다.
+ * - 조건부 요청을 지원하지 않는 사이트는 URL별 본문 해시(CRC32C)가 이전과 같으면 변경 없음으로 봅니다.
+ * - 마지막 파싱 후 max-skip-minutes 가 지나면 변경 여부와 상관없이 다시 파싱합니다. (저장 실패 등으로 놓친 변경 보정)
+ * - 범위 끝까지 모든 페이지를 봐야 하는 크롤링은 revalidate=false 로 가져와 항상 본문을 파싱합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PageFetcher implements InitializingBean, DisposableBean {
+
+    public static final String DEFAULT_USER_AGENT =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
+    private static final String ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+    private static final String ACCEPT_LANGUAGE = "ko-KR,ko;q=0.9,en;q=0.5";
+
+    @Value("${glemoa.fetch.max-skip-minutes:30}")
+    private long maxSkipMinutes;
+
+    @Value("${glemoa.fetch.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${glemoa.fetch.max-connections-per-host:4}")
+    private int maxConnectionsPerHost;
+
+    // 크롤러 전체가 함께 쓰는 동시 요청 한도 (여러 크롤러가 한꺼번에 돌아도 본문 파싱/메모리가 몰리지 않도록)
+    @Value("${glemoa.fetch.max-concurrent-requests:8}")
+    private int maxConcurrentRequests;
+
+    // 전체 구간을 훑는 크롤링에서 현재 페이지를 파싱하는 동안 미리 요청해 둘 다음 페이지 수 (PagePrefetcher, 0: 사용 안 함)
+    @Value("${glemoa.fetch.prefetch-depth:2}")
+    private int prefetchDepth;
+
+    @Value("${glemoa.fetch.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${glemoa.fetch.request-timeout-ms:15000}")
+    private long requestTimeoutMs;
+
+    private final HostRateLimiter hostRateLimiter;
+
+    private HttpClient httpClient;
+    // 호스트별 동시 요청 허가
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    // 전체 동시 요청 허가
+    private Semaphore requestPermits;
+    // URL별 마지막 응답 상태
+    private final Map<String, PageState> states = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        requestPermits = new Semaphore(Math.max(1, maxConcurrentRequests), true);
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("page-fetcher-", 0).factory()))
+                .build();
+        log.info("PageFetcher 초기화 (호스트당 동시 요청 {}개, 전체 {}개, 연결 {}ms / 응답 {}ms 타임아웃)",
+                maxConnectionsPerHost, maxConcurrentRequests, connectTimeoutMs, requestTimeoutMs);
+    }
+
+    public FetchResult fetch(String url) throws IOException {
+        return fetch(url, true);
+    }
+
+    /**
+     * revalidate 가 false 면 조건부 요청/본문 비교 없이 항상 파싱한 문서를 돌려줍니다. (응답 상태는 다음 조회를 위해 기록합니다.)
+     */
+    public FetchResult fetch(String url, boolean revalidate) throws IOException {
+        PageState previous = states.get(url);
+        boolean conditional = revalidate && previous != null && previous.parsedAt().isAfter(Instant.now().minus(Duration.ofMinutes(maxSkipMinutes)));
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .header("User-Agent", DEFAULT_USER_AGENT)
+                .header("Accept", ACCEPT)
+                .header("Accept-Language", ACCEPT_LANGUAGE)
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET();
+        if (conditional && previous.etag() != null) {
+            request.header("If-None-Match", previous.etag());
+        }
+        if (conditional && previous.lastModified() != null) {
+            request.header("If-Modified-Since", previous.lastModified());
+        }
+
+        Semaphore permits = hostPermits.computeIfAbsent(HostRateLimiter.hostOf(url), host -> new Semaphore(maxConnectionsPerHost, true));
+        byte[] body;
+        HttpResponse<InputStream> response;
+        try {
+            // 동시 요청 자리를 먼저 잡고 토큰은 보내기 직전에 받습니다.
+            // (토큰을 먼저 받고 자리를 기다리면, 기다리는 동안 토큰 간격이 사라져 자리가 날 때 요청이 한꺼번에 나갑니다.)
+            permits.acquire();
+            try {
+                requestPermits.acquire();
+            } catch (InterruptedException e) {
+                permits.release();
+                throw e;
+            }
+            try {
+                hostRateLimiter.acquire(url);
+                long start = System.nanoTime();
+                try {
+                    response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+                } catch (IOException e) {
+                    hostRateLimiter.onFailure(url);
+                    throw e;
+                }
+                int status = response.statusCode();
+                hostRateLimiter.onResponse(url, status, (System.nanoTime() - start) / 1_000_000, retryAfterOf(response.headers()));
+                if (status == 304 && conditional) {
+                    response.body().close();
+                    log.debug("페이지 변경 없음 (304): {}", url);
+                    return FetchResult.NOT_MODIFIED;
+                }
+                if (status < 200 || status >= 300) {
+                    response.body().close();
+                    throw new HttpStatusException("HTTP error fetching URL", status, url);
+                }
+                try (InputStream in = decode(response.body(), response.headers())) {
+                    body = in.readAllBytes();
+                }
+            } finally {
+                requestPermits.release();
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("페이지 요청 중 인터럽트: " + url);
+        }
+
+        long bodyHash = hash(body);
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+
+        if (conditional && previous.bodyHash() == bodyHash) {
+            log.debug("페이지 변경 없음 (본문 동일): {}", url);
+            states.put(url, new PageState(etag, lastModified, bodyHash, previous.parsedAt()));
+            return FetchResult.NOT_MODIFIED;
+        }
+
+        // charset 이 헤더에 없으면 Jsoup 이 <meta charset> 으로 판단합니다. 리다이렉트된 경우 최종 URL 을 기준으로 링크를 해석합니다.
+        Document document = Jsoup.parse(new ByteArrayInputStream(body), charsetOf(response.headers()), response.uri().toString());
+        remember(url, new PageState(etag, lastModified, bodyHash, Instant.now()));
+        return FetchResult.modified(document);
+    }
+
+    /**
+     * firstPage 부터 페이지 순서대로 가져오는 조회기. depth 개 페이지를 미리 요청합니다. (0 이면 순차 조회)
+     * revalidate 는 fetch(url, revalidate) 와 같습니다. 다 쓰면 close() 로 남은 요청을 취소해야 합니다.
+     */
+    public PagePrefetcher prefetch(IntFunction<String> urlOf, int firstPage, int depth, boolean revalidate) {
+        return new PagePrefetcher(this, urlOf, firstPage, depth, revalidate);
+    }
+
+    public int prefetchDepth() {
+        return prefetchDepth;
+    }
+
+    // 가져왔지만 파싱하지 않은 페이지는 다음 조회 때 변경 없음으로 건너뛰지 않도록 상태를 지웁니다.
+    void forget(String url) {
+        states.remove(url);
+    }
+
+    // Content-Encoding 에 맞게 압축을 풀면서 읽습니다.
+    private static InputStream decode(InputStream body, HttpHeaders headers) throws IOException {
+        String encoding = headers.firstValue("Content-Encoding").orElse("").trim().toLowerCase(Locale.ROOT);
+        return switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> body;
+        };
+    }
+
+    private static String charsetOf(HttpHeaders headers) {
+        String contentType = headers.firstValue("Content-Type").orElse("");
+        for (String part : contentType.split(";")) {
+            String trimmed = part.trim();
+            if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                return trimmed.substring(8).replace("\"", "").trim();
+            }
+        }
+        return null;
+    }
+
+    // Retry-After 는 초 단위 숫자만 해석합니다. (HTTP 날짜 형식은 무시)
+    private static Duration retryAfterOf(HttpHeaders headers) {
+        return headers.firstValue("Retry-After")
+                .map(String::trim)
+                .filter(value -> !value.isEmpty() && value.chars().allMatch(Character::isDigit))
+                .map(value -> Duration.ofSeconds(Long.parseLong(value)))
+                .orElse(null);
+    }
+
+    private void remember(String url, PageState state) {
+        // 날짜별 URL처럼 계속 늘어나는 URL이 있으므로, 한도를 넘으면 더 이상 조건부 요청에 쓰지 않을 항목부터 정리합니다.
+        if (states.size() >= maxEntries) {
+            Instant threshold = Instant.now().minus(Duration.ofMinutes(maxSkipMinutes));
+            states.entrySet().removeIf(entry -> entry.getValue().parsedAt().isBefore(threshold));
+            if (states.size() >= maxEntries) {
+                states.clear();
+            }
+        }
+        states.put(url, state);
+    }
+
+    private static long hash(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        return crc.getValue();
+    }
+
+    @Override
+    public void destroy() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+    }
+
+    private record PageState(String etag, String lastModified, long bodyHash, Instant parsedAt) {
+    }
+
+    /**
+     * 조회 결과. notModified() 이면 document 는 null 입니다.
+     */
+    public record FetchResult(Document document) {
+
+        static final FetchResult NOT_MODIFIED = new FetchResult(null);
+
+        static FetchResult modified(Document document) {
+            return new FetchResult(document);
+        }
+
+        public boolean notModified() {
+            return document == null;
+        }
+    }
+}
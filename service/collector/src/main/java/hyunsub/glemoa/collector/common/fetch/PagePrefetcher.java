@@ -0,0 +1,116 @@
+package hyunsub.glemoa.collector.common.fetch;
+
+import hyunsub.glemoa.collector.common.fetch.PageFetcher.FetchResult;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * 목록 페이지를 순서대로 돌려주면서, 호출한 쪽이 현재 페이지를 파싱하는 동안 다음 depth 개 페이지를 미리 요청합니다.
+ * - 요청은 PageFetcher 를 그대로 거치므로 도메인 속도 제한(HostRateLimiter)과 동시 요청 수 제한을 똑같이 받습니다.
+ * - 결과는 항상 페이지 순서대로 돌려주므로, 작성 시각/번호로 멈추는 조건(CrawlScope)이 순차 크롤링과 같게 동작합니다.
+ * - 페이지가 변경 없음이거나 실패하면 더 이상 미리 요청하지 않습니다.
+ * - close() 하면 아직 받지 않은 페이지 요청을 취소하고, 이미 받아 온 페이지는 PageFetcher 의 변경 감지 상태에서 지웁니다.
+ *   (파싱하지 않은 페이지가 다음 크롤링에서 "변경 없음"으로 건너뛰어지지 않도록)
+ * depth 가 0 이면 미리 요청하지 않고 next() 를 부른 스레드에서 바로 가져옵니다.
+ */
+public class PagePrefetcher implements AutoCloseable {
+
+    private final PageFetcher pageFetcher;
+    private final IntFunction<String> urlOf;
+    private final int depth;
+    private final boolean revalidate;
+    private final ExecutorService executor;
+    // 요청했지만 아직 돌려주지 않은 페이지 (페이지 순서)
+    private final Deque<InFlight> inFlight = new ArrayDeque<>();
+    private int nextPage;
+    private volatile boolean closed;
+
+    PagePrefetcher(PageFetcher pageFetcher, IntFunction<String> urlOf, int firstPage, int depth, boolean revalidate) {
+        this.pageFetcher = pageFetcher;
+        this.urlOf = urlOf;
+        this.nextPage = firstPage;
+        this.depth = Math.max(0, depth);
+        this.revalidate = revalidate;
+        this.executor = this.depth == 0 ? null
+                : Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("page-prefetch-", 0).factory());
+    }
+
+    /**
+     * 다음 페이지. 실패하면 PageFetcher.fetch 와 같은 예외를 던집니다.
+     */
+    public FetchResult next() throws IOException {
+        if (executor == null) {
+            return pageFetcher.fetch(urlOf.apply(nextPage++), revalidate);
+        }
+        if (inFlight.isEmpty()) {
+            submit();
+        }
+        FetchResult result = await(inFlight.poll());
+        if (!result.notModified()) {
+            // 이 페이지를 파싱하는 동안 다음 페이지들을 가져옵니다.
+            while (inFlight.size() < depth) {
+                submit();
+            }
+        }
+        return result;
+    }
+
+    private void submit() {
+        String url = urlOf.apply(nextPage++);
+        Future<FetchResult> future = executor.submit(() -> {
+            FetchResult result = pageFetcher.fetch(url, revalidate);
+            if (closed) {
+                // close() 와 엇갈려 끝난 요청도 다음 크롤링에서 다시 파싱되도록 지웁니다.
+                pageFetcher.forget(url);
+            }
+            return result;
+        });
+        inFlight.add(new InFlight(url, future));
+    }
+
+    private FetchResult await(InFlight page) throws IOException {
+        try {
+            return page.future().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("페이지 대기 중 인터럽트: " + page.url());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("페이지 요청 실패: " + page.url(), cause);
+        }
+    }
+
+    /**
+     * 멈춘 뒤 남은 요청을 취소합니다. 취소된 요청이 끝나기를 기다리지 않습니다.
+     */
+    @Override
+    public void close() {
+        if (executor == null) {
+            return;
+        }
+        closed = true;
+        for (InFlight page : inFlight) {
+            page.future().cancel(true);
+            pageFetcher.forget(page.url());
+        }
+        inFlight.clear();
+        executor.shutdownNow();
+    }
+
+    private record InFlight(String url, Future<FetchResult> future) {
+    }
+}
@@ -0,0 +1,76 @@
+package hyunsub.glemoa.collector.common.parse;
+
+/**
+ * 목록 페이지의 조회/댓글/추천 수 텍스트를 정수로 바꿉니다.
+ * 필드마다 replaceAll 로 정규식을 돌리고 문자열을 새로 만드는 대신, 문자를 한 번 훑으면서 바로 계산합니다.
+ * - "1,234" -> 1234, "(12)" / "[12]" -> 12, "99+" -> 99
+ * - "1.2만" -> 12000, "3천" -> 3000, "1.5k" -> 1500
+ * - "3 - 1" 처럼 숫자가 여러 개면 첫 번째 숫자만 사용합니다.
+ * int 범위를 넘으면 Integer.MAX_VALUE 로 고정합니다.
+ */
+public final class CountParser {
+
+    private CountParser() {
+    }
+
+    /**
+     * 숫자가 없으면 defaultValue.
+     */
+    public static int parse(CharSequence text, int defaultValue) {
+        if (text == null) {
+            return defaultValue;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length && !isDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return defaultValue;
+        }
+
+        long value = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                value = Math.min(value * 10 + (c - '0'), Integer.MAX_VALUE);
+            } else if (c != ',') {
+                break;
+            }
+        }
+
+        // 소수 부분은 단위(만/천/k)가 붙을 때만 의미가 있으므로 따로 모아 둡니다. (최대 4자리)
+        long fraction = 0;
+        long fractionScale = 1;
+        if (i + 1 < length && text.charAt(i) == '.' && isDigit(text.charAt(i + 1))) {
+            for (i++; i < length && isDigit(text.charAt(i)); i++) {
+                if (fractionScale < 10_000) {
+                    fraction = fraction * 10 + (text.charAt(i) - '0');
+                    fractionScale *= 10;
+                }
+            }
+        }
+        while (i < length && text.charAt(i) == ' ') {
+            i++;
+        }
+
+        long unit = i < length ? unitOf(text.charAt(i)) : 1;
+        if (unit == 1) {
+            return (int) value;
+        }
+        return (int) Math.min(value * unit + fraction * unit / fractionScale, Integer.MAX_VALUE);
+    }
+
+    private static long unitOf(char c) {
+        return switch (c) {
+            case '만' -> 10_000L;
+            case '천', 'k', 'K' -> 1_000L;
+            case '억' -> 100_000_000L;
+            default -> 1L;
+        };
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,144 @@
+package hyunsub.glemoa.collector.common.parse;
+
+import java.text.ParsePosition;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+
+/**
+ * 목록 페이지의 작성 시각 텍스트를 LocalDateTime 으로 바꿉니다.
+ * - 자주 쓰는 형식은 상수로 한 번만 만들어 둡니다. (게시글마다 DateTimeFormatter.ofPattern 을 부르지 않도록)
+ * - "방금", "N분 전", "N시간전", "N일 전" 같은 상대 시간은 now 기준으로 계산합니다.
+ * - 시간만 있으면 오늘(미래면 어제), 월/일만 있으면 올해(미래면 작년)로 봅니다.
+ */
+public final class TimeParser {
+
+    public static final DateTimeFormatter HH_MM = DateTimeFormatter.ofPattern("HH:mm");
+    public static final DateTimeFormatter HH_MM_SS = DateTimeFormatter.ofPattern("HH:mm:ss");
+    public static final DateTimeFormatter YYYY_MM_DD_HH_MM_SS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // 사이트 시계가 조금 빠른 경우까지 어제 글로 넘기지 않도록 허용하는 오차
+    private static final Duration FUTURE_TOLERANCE = Duration.ofMinutes(10);
+
+    private TimeParser() {
+    }
+
+    /**
+     * 상대 시간이면 그 시각을, formats 중 맞는 형식이 있으면 그 시각을 반환합니다.
+     * 맞는 형식이 없으면 IllegalArgumentException.
+     */
+    public static LocalDateTime parse(String text, DateTimeFormatter[] formats, LocalDateTime now) {
+        LocalDateTime relative = parseRelative(text, now);
+        if (relative != null) {
+            return relative;
+        }
+        for (DateTimeFormatter format : formats) {
+            // 맞지 않는 형식마다 예외를 만들지 않도록 먼저 parseUnresolved 로 확인합니다.
+            ParsePosition position = new ParsePosition(0);
+            if (format.parseUnresolved(text, position) == null || position.getIndex() != text.length()) {
+                continue;
+            }
+            return resolve(format.parse(text), now);
+        }
+        throw new IllegalArgumentException("날짜 형식이 맞지 않습니다: " + text);
+    }
+
+    /**
+     * "방금", "N초 전", "N분 전", "N시간 전", "N일 전", "N주 전" (공백 없어도 됨) 이면 now 에서 뺀 시각, 아니면 null.
+     */
+    public static LocalDateTime parseRelative(CharSequence text, LocalDateTime now) {
+        int length = text.length();
+        if (length == 0) {
+            return null;
+        }
+        if (startsWith(text, "방금")) {
+            return now;
+        }
+        int i = 0;
+        long amount = 0;
+        while (i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            amount = amount * 10 + (text.charAt(i) - '0');
+            i++;
+        }
+        if (i == 0 || i > 9) {
+            return null;
+        }
+        while (i < length && text.charAt(i) == ' ') {
+            i++;
+        }
+        int end = length;
+        while (end > i && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        // 끝의 "전" 을 떼고 남은 단위를 봅니다.
+        if (end == i || text.charAt(end - 1) != '전') {
+            return null;
+        }
+        end--;
+        while (end > i && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end - i == 2 && text.charAt(i) == '시' && text.charAt(i + 1) == '간') {
+            return now.minusHours(amount);
+        }
+        if (end - i != 1) {
+            return null;
+        }
+        return switch (text.charAt(i)) {
+            case '초' -> now.minusSeconds(amount);
+            case '분' -> now.minusMinutes(amount);
+            case '일' -> now.minusDays(amount);
+            case '주' -> now.minusWeeks(amount);
+            default -> null;
+        };
+    }
+
+    /**
+     * 시간만 있으면 오늘, 다만 now 보다 미래면 어제로 봅니다.
+     */
+    public static LocalDateTime atToday(LocalTime time, LocalDateTime now) {
+        LocalDateTime dateTime = now.toLocalDate().atTime(time);
+        return dateTime.isAfter(now.plus(FUTURE_TOLERANCE)) ? dateTime.minusDays(1) : dateTime;
+    }
+
+    /**
+     * 월/일만 있으면 올해, 다만 오늘보다 미래면 작년으로 봅니다.
+     */
+    public static LocalDate atThisYear(MonthDay monthDay, LocalDate today) {
+        LocalDate date = monthDay.atYear(today.getYear());
+        return date.isAfter(today) ? date.minusYears(1) : date;
+    }
+
+    private static LocalDateTime resolve(TemporalAccessor parsed, LocalDateTime now) {
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        if (date == null && parsed.isSupported(ChronoField.MONTH_OF_YEAR) && parsed.isSupported(ChronoField.DAY_OF_MONTH)) {
+            date = atThisYear(MonthDay.from(parsed), now.toLocalDate());
+        }
+        if (date != null) {
+            return time == null ? date.atStartOfDay() : date.atTime(time);
+        }
+        if (time == null) {
+            throw new IllegalArgumentException("날짜나 시간이 없는 형식입니다: " + parsed);
+        }
+        return atToday(time, now);
+    }
+
+    private static boolean startsWith(CharSequence text, String prefix) {
+        if (text.length() < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Getter
@@ -24,5 +25,58 @@ public class CrawlerProperties {
         private int initialCrawlDays;
         private int restartCrawlMinutes;
         private boolean enabled;
+        // 증분 크롤링: 이미 저장된 번호(crawl_watermark)를 만나면 페이지 넘기기를 멈춥니다. (번호 순으로 정렬된 게시판에만 사용)
+        private boolean incremental;
+        // 증분 크롤링 중에도 이 주기마다 lookback 구간 전체를 다시 훑어 조회/댓글/추천 수를 갱신합니다.
+        private int counterRefreshMinutes = 30;
+        // 이 크롤러가 요청하는 도메인 (요청 속도 제한 단위)
+        private String host;
+        private RateLimit rateLimit = new RateLimit();
+        // 설정만으로 만드는 목록 페이지 크롤러 (BoardCrawler). 있으면 이름이 같은 크롤러 Bean 대신 사용합니다.
+        private BoardSpec board;
+    }
+
+    // 도메인별 요청 속도 제한 (HostRateLimiter)
+    @Getter
+    @Setter
+    public static class RateLimit {
+        private double permitsPerSecond = 0.5; // 시작 속도 (초당 요청 수)
+        private double minPermitsPerSecond = 0.1; // 429/503/느린 응답으로 줄어들 수 있는 최저 속도
+        private double maxPermitsPerSecond = 2.0; // 정상 응답으로 올라갈 수 있는 최고 속도
+        private int burst = 1; // 한 번에 몰아서 보낼 수 있는 요청 수
+        private long slowResponseMs = 3000; // 이보다 느린 응답은 속도를 줄이는 신호로 봅니다.
+    }
+
+    // 목록 페이지 한 종류를 읽는 방법 (BoardCrawlerRegistry 가 시작할 때 한 번 컴파일)
+    @Getter
+    @Setter
+    public static class BoardSpec {
+        private String source; // Post.source 값
+        private String url; // 목록 페이지 주소, %d 자리에 페이지 번호
+        private int firstPage = 1;
+        private String rows; // 게시글 한 줄씩을 고르는 선택자 (공지/광고는 :not(...) 으로 제외)
+        private String lastPage; // 이 요소가 있으면 마지막 페이지로 봅니다. (예: 결과 없음 안내)
+        private String linkPrefix; // link 값 앞에 붙일 주소 (비우면 href 를 그대로 사용)
+        private FieldSpec title;
+        private FieldSpec link;
+        private FieldSpec sourceId;
+        private FieldSpec author;
+        private FieldSpec commentCount; // 비우면 null, 요소가 없으면 0
+        private FieldSpec viewCount;
+        private FieldSpec recommendationCount;
+        private FieldSpec createdAt;
+        private List<String> dateFormats = new ArrayList<>(); // 앞에서부터 맞는 형식을 사용 (시간만/월일만 있으면 오늘/올해 기준, "N분 전" 같은 상대 시간은 형식 없이 처리)
+    }
+
+    // 게시글 한 줄에서 값 하나를 꺼내는 방법
+    @Getter
+    @Setter
+    public static class FieldSpec {
+        private String selector; // 비우면 게시글 줄 자신
+        private int index; // 선택된 요소 중 몇 번째인지 (0부터)
+        private String attr; // 비우면 텍스트
+        private String pattern; // 정규식, 그룹이 있으면 첫 번째 그룹 값을 사용
+        private boolean join; // 선택된 요소 텍스트를 모두 공백으로 이어 붙입니다. (날짜/시간이 나뉜 경우)
+        private String fallback; // 요소가 없을 때 쓸 값
     }
 }
@@ -0,0 +1,64 @@
+package hyunsub.glemoa.collector.controller;
+
+import hyunsub.glemoa.collector.service.ElasticsearchSyncService;
+import hyunsub.glemoa.collector.service.PostReindexer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// Elasticsearch 재색인 진행 상황 조회 / 취소 (운영 확인용)
+// 취소는 상태를 바꾸므로 glemoa.reindex.cancel-token 과 같은 X-Internal-Token 헤더가 있을 때만 받습니다.
+@Slf4j
+@RestController
+@RequestMapping("/internal/reindex")
+@RequiredArgsConstructor
+public class ReindexController {
+
+    private final PostReindexer postReindexer;
+    private final ElasticsearchSyncService elasticsearchSyncService;
+
+    @Value("${glemoa.reindex.cancel-token:}")
+    private String cancelToken;
+
+    @GetMapping("/progress")
+    public PostReindexer.ReindexProgress progress() {
+        return postReindexer.progress();
+    }
+
+    // 초기 동기화가 끝났으면 200, 진행 중이면 503
+    @GetMapping("/ready")
+    public ResponseEntity<Void> ready() {
+        return elasticsearchSyncService.isInitialSyncDone()
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    // 토큰이 설정되지 않았거나 다르면 403
+    @PostMapping("/cancel")
+    public ResponseEntity<Void> cancel(@RequestHeader(name = "X-Internal-Token", required = false) String token) {
+        if (!isAuthorized(token)) {
+            log.warn("재색인 취소 요청을 거부했습니다. (토큰 불일치 또는 미설정)");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        elasticsearchSyncService.cancel();
+        return ResponseEntity.accepted().build();
+    }
+
+    private boolean isAuthorized(String token) {
+        if (cancelToken == null || cancelToken.isBlank() || token == null) {
+            return false;
+        }
+        // 응답 시간으로 토큰을 알아낼 수 없도록 고정 시간 비교를 합니다.
+        return MessageDigest.isEqual(cancelToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -7,8 +7,10 @@ import lombok.Getter;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.zip.CRC32;
 
 @Getter
 @Builder
@@ -49,6 +51,10 @@ public class PostDocument {
     @Field(type = FieldType.Integer)
     private Integer recommendationCount;
 
+    // 제목/카운터의 CRC32. 정합성 검사(PostReconciler)가 MySQL post.content_hash 와 구간별 합계로 비교합니다.
+    @Field(type = FieldType.Long)
+    private Long contentHash;
+
     // Post 엔티티로부터 PostDocument를 생성하는 헬퍼 메서드
     public static PostDocument from(Post post) {
         return PostDocument.builder()
@@ -61,6 +67,27 @@ public class PostDocument {
                 .createdAt(post.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant())
                 .viewCount(post.getViewCount())
                 .recommendationCount(post.getRecommendationCount())
+                .contentHash(contentHash(post))
                 .build();
     }
+
+    /**
+     * schema.sql 의 post.content_hash 생성 컬럼과 같은 값:
+     * CRC32(CONCAT_WS('|', title, comment_count, view_count, recommendation_count)) (null 은 구분자째 빠짐, UTF-8)
+     */
+    public static long contentHash(Post post) {
+        StringBuilder sb = new StringBuilder();
+        for (Object value : new Object[]{post.getTitle(), post.getCommentCount(), post.getViewCount(), post.getRecommendationCount()}) {
+            if (value == null) {
+                continue;
+            }
+            if (!sb.isEmpty()) {
+                sb.append('|');
+            }
+            sb.append(value);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
 }
@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "post")
+@Table(name = "post", uniqueConstraints = {
+        // PostUpsertRepository 의 ON DUPLICATE KEY UPDATE 기준 (schema.sql 에서 생성)
+        @UniqueConstraint(name = "uk_post_source_source_id", columnNames = {"source", "source_id"})
+})
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
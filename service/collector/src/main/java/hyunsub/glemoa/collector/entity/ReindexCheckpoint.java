@@ -0,0 +1,25 @@
+package hyunsub.glemoa.collector.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// PostReindexer 파티션별 진행 상황 (id 범위: startId 초과 ~ endId 이하)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "reindex_checkpoint")
+public class ReindexCheckpoint {
+    @Id
+    private Integer partitionNo;
+
+    private Long startId;
+    private Long endId;
+    // 이 id 까지는 Elasticsearch 색인이 확인되었습니다.
+    private Long lastId;
+    private boolean done;
+    private LocalDateTime updatedAt;
+}
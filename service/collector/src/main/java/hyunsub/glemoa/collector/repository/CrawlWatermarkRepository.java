@@ -0,0 +1,78 @@
+package hyunsub.glemoa.collector.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * crawl_watermark 테이블 저장소.
+ * 크롤링 결과가 MySQL에 저장된 뒤에만 워터마크를 올리므로, 저장에 실패한 구간은 다음 실행에서 다시 수집됩니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CrawlWatermarkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<CrawlWatermark> findBySource(String source) {
+        return jdbcTemplate.query(
+                "SELECT source, max_source_id, max_created_at, last_full_crawl_at, pending_until FROM crawl_watermark WHERE source = ?",
+                (rs, rowNum) -> new CrawlWatermark(
+                        rs.getString(1),
+                        rs.getObject(2, Long.class),
+                        toLocalDateTime(rs.getTimestamp(3)),
+                        toLocalDateTime(rs.getTimestamp(4)),
+                        toLocalDateTime(rs.getTimestamp(5))),
+                source).stream().findFirst();
+    }
+
+    /**
+     * until 까지 내려가는 긴 크롤링(최초/재시작)을 시작한다고 기록합니다.
+     * 페이지마다 저장하므로 중간에 멈춰도 저장된 게시글은 남고, 다음 실행은 이 값으로 같은 범위를 이어서 훑습니다.
+     */
+    public void markPending(String source, LocalDateTime until) {
+        jdbcTemplate.update(
+                "INSERT INTO crawl_watermark (source, pending_until, updated_at) VALUES (?, ?, NOW(6)) AS new " +
+                "ON DUPLICATE KEY UPDATE pending_until = new.pending_until, updated_at = NOW(6)",
+                source, toTimestamp(until));
+    }
+
+    /**
+     * 워터마크를 앞으로만 옮깁니다. (동시에 실행된 작업이나 늦게 끝난 작업이 값을 되돌리지 않도록 GREATEST 로 합칩니다.)
+     * fullCrawlAt 이 null 이면 마지막 전체 크롤링 시각은 그대로 둡니다.
+     * 크롤링이 끝까지 저장된 뒤에만 호출되므로, 진행 중 표시(pending_until)도 지웁니다.
+     */
+    public void advance(String source, Long maxSourceId, LocalDateTime maxCreatedAt, LocalDateTime fullCrawlAt) {
+        jdbcTemplate.update(
+                "INSERT INTO crawl_watermark (source, max_source_id, max_created_at, last_full_crawl_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, NOW(6)) AS new " +
+                "ON DUPLICATE KEY UPDATE " +
+                "max_source_id = GREATEST(COALESCE(max_source_id, new.max_source_id), COALESCE(new.max_source_id, max_source_id)), " +
+                "max_created_at = GREATEST(COALESCE(max_created_at, new.max_created_at), COALESCE(new.max_created_at, max_created_at)), " +
+                "last_full_crawl_at = COALESCE(new.last_full_crawl_at, last_full_crawl_at), " +
+                "pending_until = NULL, " +
+                "updated_at = NOW(6)",
+                source, maxSourceId, toTimestamp(maxCreatedAt), toTimestamp(fullCrawlAt));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.valueOf(dateTime);
+    }
+
+    public record CrawlWatermark(String source, Long maxSourceId, LocalDateTime maxCreatedAt, LocalDateTime lastFullCrawlAt,
+                                 LocalDateTime pendingUntil) {
+
+        // 마지막 전체 크롤링 후 refreshMinutes 가 지났으면 카운터 갱신을 위한 전체 크롤링 차례입니다.
+        public boolean isFullCrawlDue(int refreshMinutes) {
+            return lastFullCrawlAt == null || lastFullCrawlAt.isBefore(LocalDateTime.now().minusMinutes(refreshMinutes));
+        }
+    }
+}
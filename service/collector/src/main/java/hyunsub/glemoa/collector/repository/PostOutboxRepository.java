@@ -0,0 +1,95 @@
+package hyunsub.glemoa.collector.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * post_outbox 테이블 저장소.
+ * 게시글 upsert 와 같은 트랜잭션에서 후속 작업(Elasticsearch 색인, 키워드 알림)을 기록하고,
+ * PostOutboxRelay 가 처리할 차례가 된 항목을 꺼내 처리 후 삭제하거나 재시도 시각을 미룹니다.
+ * 정해진 횟수만큼 실패한 항목은 dead_at 을 기록해 더 이상 꺼내지 않습니다. (dead-letter)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostOutboxRepository {
+
+    public enum EventType {
+        INDEX,    // PostDocument 색인
+        NOTIFY,   // 키워드 알림 (신규 게시글만)
+        COUNTERS  // 카운터(댓글/조회/추천 수) 부분 업데이트
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 게시글 id 목록으로 outbox 항목을 한 번의 multi-row INSERT 로 추가합니다.
+     */
+    public void append(EventType eventType, List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO post_outbox (post_id, event_type, attempts, next_attempt_at, created_at) VALUES ");
+        Object[] args = new Object[postIds.size() * 2];
+        for (int i = 0; i < postIds.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, 0, NOW(6), NOW(6))" : ", (?, ?, 0, NOW(6), NOW(6))");
+            args[i * 2] = postIds.get(i);
+            args[i * 2 + 1] = eventType.name();
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    /**
+     * 처리할 차례가 된 항목을 오래된 순서로 가져옵니다.
+     */
+    public List<OutboxEntry> findDue(EventType eventType, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, post_id, attempts FROM post_outbox WHERE event_type = ? AND next_attempt_at <= NOW(6) AND dead_at IS NULL ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new OutboxEntry(rs.getLong(1), rs.getLong(2), rs.getInt(3)),
+                eventType.name(), limit);
+    }
+
+    public void delete(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM post_outbox WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+    }
+
+    // 실패한 항목의 시도 횟수를 올리고 backoffSeconds 초 뒤에 다시 처리되도록 미룹니다.
+    // append/findDue 와 같은 DB 시계(NOW(6))를 기준으로 계산하므로, JVM 과 DB 세션의 시간대가 달라도 어긋나지 않습니다.
+    public void reschedule(Collection<Long> ids, long backoffSeconds) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Object[] args = new Object[ids.size() + 1];
+        args[0] = backoffSeconds;
+        int index = 1;
+        for (Long id : ids) {
+            args[index++] = id;
+        }
+        jdbcTemplate.update("UPDATE post_outbox SET attempts = attempts + 1, next_attempt_at = NOW(6) + INTERVAL ? SECOND WHERE id IN (" + placeholders(ids.size()) + ")", args);
+    }
+
+    // 더 이상 재시도하지 않을 항목. 행은 남겨 두므로 원인을 확인한 뒤 dead_at 을 비우면 다시 처리됩니다.
+    public void markDead(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE post_outbox SET attempts = attempts + 1, dead_at = NOW(6) WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+
+    public record OutboxEntry(long id, long postId, int attempts) {
+    }
+}
@@ -1,7 +1,9 @@
 package hyunsub.glemoa.collector.repository;
 
 import hyunsub.glemoa.collector.entity.Post;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -14,4 +16,15 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findBySourceAndLinkIn(String source, List<String> links);
     List<Post> findBySourceAndSourceIdIn(String source, List<Long> sourceId);
     boolean existsBySource(String source);
+
+    // 재색인용 keyset 페이지 조회 (id > afterId AND id <= toId, id 순)
+    List<Post> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long toId, Limit limit);
+    List<Post> findBySourceAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc(String source, Long afterId, Long toId, Limit limit);
+    List<Post> findBySourceIsNullAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long toId, Limit limit);
+
+    @Query("select min(p.id) from Post p")
+    Optional<Long> findMinId();
+
+    @Query("select max(p.id) from Post p")
+    Optional<Long> findMaxId();
 }
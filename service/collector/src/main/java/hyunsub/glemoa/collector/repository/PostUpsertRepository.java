@@ -0,0 +1,193 @@
+package hyunsub.glemoa.collector.repository;
+
+import hyunsub.glemoa.collector.entity.Post;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 크롤링 배치를 (source, source_id) 유니크 인덱스 기준 multi-row upsert 한 번으로 저장하는 저장소.
+ * 기존처럼 엔티티를 조회해서 Java에서 비교한 뒤 저장하는 read-modify-write 과정 없이,
+ * INSERT ... ON DUPLICATE KEY UPDATE 로 신규는 추가하고 기존 게시글은 제목/카운터만 갱신합니다.
+ * 저장 후에는 모든 Post 에 id 가 채워지고, 신규로 추가된 게시글을 따로 돌려줍니다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class PostUpsertRepository {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO post (source_id, title, link, author, comment_count, view_count, recommendation_count, created_at, source) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // VALUES(col) 는 MySQL 8.0.20 부터 deprecated 이므로 행 별칭(new)으로 넣으려던 값을 참조합니다. (8.0.19 이상)
+    private static final String ON_DUPLICATE_KEY_UPDATE =
+            " AS new ON DUPLICATE KEY UPDATE title = new.title, comment_count = new.comment_count, " +
+            "view_count = new.view_count, recommendation_count = new.recommendation_count";
+
+    private static final String UPDATE_COUNTERS_SQL =
+            "UPDATE post SET comment_count = ?, view_count = ?, recommendation_count = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 같은 source 의 게시글 목록을 한 번에 upsert 합니다.
+     * 한 배치 안에 같은 sourceId 가 여러 번 있으면 먼저 나온 게시글(최신 페이지)만 사용합니다.
+     */
+    public UpsertResult upsert(String source, List<Post> posts) {
+        if (posts.isEmpty()) {
+            return UpsertResult.EMPTY;
+        }
+
+        Map<Long, Post> bySourceId = new LinkedHashMap<>();
+        for (Post post : posts) {
+            // sourceId 가 없으면 유니크 인덱스로 중복을 막을 수 없으므로 저장하지 않습니다.
+            if (post.getSourceId() != null) {
+                bySourceId.putIfAbsent(post.getSourceId(), post);
+            }
+        }
+        if (bySourceId.isEmpty()) {
+            return UpsertResult.EMPTY;
+        }
+        List<Post> rows = new ArrayList<>(bySourceId.values());
+
+        long start = System.nanoTime();
+        UpsertResult result = jdbcTemplate.execute((ConnectionCallback<UpsertResult>) connection -> {
+            long firstInsertedId = 0;
+            int affectedRows;
+            try (PreparedStatement ps = connection.prepareStatement(buildUpsertSql(rows.size()), Statement.RETURN_GENERATED_KEYS)) {
+                int index = 1;
+                for (Post post : rows) {
+                    ps.setObject(index++, post.getSourceId(), Types.BIGINT);
+                    ps.setString(index++, post.getTitle());
+                    ps.setString(index++, post.getLink());
+                    ps.setString(index++, post.getAuthor());
+                    ps.setObject(index++, post.getCommentCount(), Types.INTEGER);
+                    ps.setObject(index++, post.getViewCount(), Types.INTEGER);
+                    ps.setObject(index++, post.getRecommendationCount(), Types.INTEGER);
+                    ps.setObject(index++, post.getCreatedAt());
+                    ps.setString(index++, post.getSource());
+                }
+                affectedRows = ps.executeUpdate();
+
+                // multi-row INSERT 에서 돌려받는 첫 번째 키 = 이번 문장에서 처음 추가된 행의 id (추가된 행이 없으면 비어 있음)
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        firstInsertedId = keys.getLong(1);
+                    }
+                }
+            }
+
+            // 신규 행은 모두 firstInsertedId 이상의 id 를 받고, 기존 행의 id 는 그보다 작습니다.
+            List<Post> insertedPosts = new ArrayList<>();
+            Map<Long, Long> idsBySourceId = findIds(connection, source, bySourceId.keySet());
+            for (Post post : rows) {
+                Long id = idsBySourceId.get(post.getSourceId());
+                post.setId(id);
+                if (id != null && firstInsertedId > 0 && id >= firstInsertedId) {
+                    insertedPosts.add(post);
+                }
+            }
+            // 중복된 sourceId 로 빠진 게시글에도 같은 id 를 채워 줍니다.
+            for (Post post : posts) {
+                if (post.getId() == null && post.getSourceId() != null) {
+                    post.setId(idsBySourceId.get(post.getSourceId()));
+                }
+            }
+
+            // Connector/J 기본 설정(useAffectedRows=false)에서는 신규 1, 변경 2, 변경 없는 중복 1 로 집계됩니다.
+            int updated = Math.max(0, affectedRows - rows.size());
+            return new UpsertResult(insertedPosts, updated, Math.max(0, rows.size() - insertedPosts.size() - updated));
+        });
+
+        long elapsedMicros = Math.max(1, (System.nanoTime() - start) / 1_000);
+        log.debug("[{}] 게시글 {}건 upsert 완료 (신규 {}, 변경 {}, 동일 {}, {}ms, {} rows/sec)",
+                source, rows.size(), result.insertedCount(), result.updatedCount(), result.unchangedCount(),
+                elapsedMicros / 1_000, rows.size() * 1_000_000L / elapsedMicros);
+        return result;
+    }
+
+    /**
+     * id 가 채워진 게시글의 댓글/조회/추천 수만 갱신합니다. (PostCounterTracker 가 카운터만 바뀐 것으로 판단한 게시글)
+     * 제목/링크 등은 보내지 않고, 같은 문장을 JDBC batch 로 묶어 보냅니다.
+     */
+    public int updateCounters(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return 0;
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_COUNTERS_SQL, posts, posts.size(), (ps, post) -> {
+            ps.setObject(1, post.getCommentCount(), Types.INTEGER);
+            ps.setObject(2, post.getViewCount(), Types.INTEGER);
+            ps.setObject(3, post.getRecommendationCount(), Types.INTEGER);
+            ps.setLong(4, post.getId());
+        })[0];
+        int count = 0;
+        for (int rows : updated) {
+            count += Math.max(rows, 0);
+        }
+        return count;
+    }
+
+    private static String buildUpsertSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rowCount * (ROW_PLACEHOLDER.length() + 2) + ON_DUPLICATE_KEY_UPDATE.length());
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.append(ON_DUPLICATE_KEY_UPDATE).toString();
+    }
+
+    // (source, source_id) 인덱스만 타는 가벼운 조회로 id 만 가져옵니다. (엔티티 hydrate 없음)
+    private static Map<Long, Long> findIds(Connection connection, String source, Collection<Long> sourceIds) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT id, source_id FROM post WHERE source = ? AND source_id IN (");
+        for (int i = 0; i < sourceIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+
+        Map<Long, Long> ids = new HashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            ps.setString(index++, source);
+            for (Long sourceId : sourceIds) {
+                ps.setObject(index++, sourceId, Types.BIGINT);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(rs.getLong(2), rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    public record UpsertResult(List<Post> insertedPosts, int updatedCount, int unchangedCount) {
+
+        static final UpsertResult EMPTY = new UpsertResult(List.of(), 0, 0);
+
+        public int insertedCount() {
+            return insertedPosts.size();
+        }
+
+        public boolean hasChanges() {
+            return !insertedPosts.isEmpty() || updatedCount > 0;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package hyunsub.glemoa.collector.repository;
+
+import hyunsub.glemoa.collector.entity.ReindexCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReindexCheckpointRepository extends JpaRepository<ReindexCheckpoint, Integer> {
+}
@@ -0,0 +1,30 @@
+package hyunsub.glemoa.collector.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 한 번의 크롤링에서 어디까지 페이지를 넘길지 정하는 범위.
+ * - until: 이 시각보다 먼저 작성된 게시글을 만나면 멈춥니다. (항상 적용)
+ * - stopAtSourceId: null 이 아니면 이 번호 이하의 게시글(이미 저장된 게시글)을 만나도 멈춥니다. (증분 크롤링)
+ */
+public record CrawlScope(LocalDateTime until, Long stopAtSourceId) {
+
+    // lookback 구간 전체를 훑는 범위
+    public static CrawlScope until(LocalDateTime until) {
+        return new CrawlScope(until, null);
+    }
+
+    public boolean isIncremental() {
+        return stopAtSourceId != null;
+    }
+
+    /**
+     * 이 게시글에서 크롤링을 멈춰야 하면 true.
+     */
+    public boolean reached(Long sourceId, LocalDateTime createdAt) {
+        if (createdAt.isBefore(until)) {
+            return true;
+        }
+        return stopAtSourceId != null && sourceId != null && sourceId <= stopAtSourceId;
+    }
+}
@@ -1,35 +1,61 @@
 package hyunsub.glemoa.collector.service;
 
-import hyunsub.glemoa.collector.document.PostDocument;
 import hyunsub.glemoa.collector.repository.PostDocumentRepository;
 import hyunsub.glemoa.collector.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.ZoneId;
-import java.util.List;
-import java.util.stream.Collectors;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 애플리케이션 시작 시 MySQL -> Elasticsearch 초기 동기화.
+ * - 인덱스가 비어 있거나 중단된 초기 적재가 있을 때만 전체 재색인(PostReindexer)을 실행합니다.
+ * - 그 밖에 문서 수가 다르면 PostReconciler 로 넘겨 어긋난 구간만 다시 색인합니다.
+ *   (색인은 outbox 를 거쳐 비동기로 반영되므로 재시작 시점에는 수가 조금 다른 것이 보통입니다.)
+ * 동기화는 백그라운드 가상 스레드에서 실행되므로 ApplicationReadyEvent 와 첫 크롤링을 막지 않습니다.
+ * 초기 동기화가 끝났는지는 isInitialSyncDone() / awaitInitialSync() 로 확인할 수 있습니다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class ElasticsearchSyncService {
+public class ElasticsearchSyncService implements DisposableBean {
 
     private final PostRepository postRepository;
     private final PostDocumentRepository postDocumentRepository;
+    private final PostReindexer postReindexer;
+    private final PostReconciler postReconciler;
+
+    // 종료 시 취소한 초기 동기화가 멈출 때까지 기다리는 최대 시간
+    @Value("${glemoa.reindex.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
 
-    private static final int BATCH_SIZE = 1000;
+    // 초기 동기화 완료(또는 건너뜀/취소/실패) 시 완료되는 게이트
+    private final CompletableFuture<Void> initialSync = new CompletableFuture<>();
+    private volatile boolean started;
 
     @EventListener(ApplicationReadyEvent.class)
-    @Transactional(readOnly = true)
     public void onApplicationReady() {
+        started = true;
+        Thread.ofVirtual().name("es-initial-sync").start(() -> {
+            try {
+                syncIfNeeded();
+            } catch (Exception e) {
+                log.error("Elasticsearch 초기 데이터 동기화 중 오류 발생: {}", e.getMessage(), e);
+            } finally {
+                initialSync.complete(null);
+            }
+        });
+    }
+
+    private void syncIfNeeded() {
         log.info("Elasticsearch 초기 데이터 동기화 작업을 시작합니다.");
         log.info("JVM Default Timezone: {}", java.util.TimeZone.getDefault().getID());
 
@@ -38,48 +64,66 @@ public class ElasticsearchSyncService {
         long elasticsearchCurrentCount = postDocumentRepository.count();
         log.info("elasticsearchCurrentCount : {}", elasticsearchCurrentCount);
 
-        if (mysqlTotalCount == elasticsearchCurrentCount && mysqlTotalCount > 0) {
-            log.info("MySQL과 Elasticsearch의 문서 수가 일치합니다 {}개. 초기 동기화를 건너킵니다.", mysqlTotalCount);
+        if (mysqlTotalCount == 0) {
+            log.info("MySQL에 게시글이 없습니다. 초기 동기화를 건너뜁니다.");
+            return;
+        }
+
+        if (elasticsearchCurrentCount > 0 && !postReindexer.hasUnfinishedCheckpoints()) {
+            if (mysqlTotalCount == elasticsearchCurrentCount) {
+                log.info("MySQL과 Elasticsearch의 문서 수가 일치합니다 {}개. 초기 동기화를 건너킵니다.", mysqlTotalCount);
+            } else {
+                // 전체를 다시 복사하지 않고, 구간별 집계값이 다른 구간만 다시 색인합니다. (초기 동기화 완료를 기다리지 않음)
+                log.info("MySQL {}개, Elasticsearch {}개로 문서 수가 다릅니다. 정합성 검사로 어긋난 구간만 다시 색인합니다.",
+                        mysqlTotalCount, elasticsearchCurrentCount);
+                postReconciler.reconcileAsync();
+            }
             return;
         }
 
         log.info("MySQL에 {}개의 게시글이 존재합니다. Elasticsearch에 {}개의 문서가 있습니다.", mysqlTotalCount, elasticsearchCurrentCount);
         log.info("Elasticsearch에 MySQL 데이터를 초기 로드합니다.");
 
-        // 기존 Elasticsearch 데이터 삭제 (선택 사항: 중복 방지 및 깨끗한 시작을 위해)
-        // postDocumentRepository.deleteAll();
-        // log.info("기존 Elasticsearch 문서 {}개 삭제 완료.", elasticsearchCurrentCount);
-
-
-        int pageNum = 0;
-        long processedCount = 0;
-        Page<hyunsub.glemoa.collector.entity.Post> postPage;
-
-        do {
-            Pageable pageable = PageRequest.of(pageNum, BATCH_SIZE);
-            postPage = postRepository.findAll(pageable);
-
-            List<PostDocument> documentsToSave = postPage.getContent().stream()
-                    .map(post -> {
-                        PostDocument doc = PostDocument.from(post);
-//                        log.info("MySQL CreatedAt: {}, PostDocument CreatedAt: {}, System Timezone: {}",
-//                                post.getCreatedAt(),
-//                                doc.getCreatedAt(),
-//                                ZoneId.systemDefault());
-                        return doc;
-                    })
-                    .collect(Collectors.toList());
-
-            if (!documentsToSave.isEmpty()) {
-                postDocumentRepository.saveAll(documentsToSave);
-                processedCount += documentsToSave.size();
-                log.info("Elasticsearch에 {}/{}개 문서 저장 완료 ({}% 진행).",
-                         processedCount, mysqlTotalCount, (processedCount * 100 / mysqlTotalCount));
-            }
+        // id 범위를 나눠 keyset 페이지로 병렬 재색인합니다. (중단되면 다음 실행 때 체크포인트부터 이어서 진행)
+        PostReindexer.ReindexProgress progress = postReindexer.reindexAll();
 
-            pageNum++;
-        } while (postPage.hasNext());
+        log.info("Elasticsearch 초기 데이터 동기화 작업 완료. 총 {}개 문서 저장. (실패 {}개)", progress.processed() - progress.failed(), progress.failed());
+    }
+
+    public boolean isInitialSyncDone() {
+        return initialSync.isDone();
+    }
 
-        log.info("Elasticsearch 초기 데이터 동기화 작업 완료. 총 {}개 문서 저장.", processedCount);
+    /**
+     * 초기 동기화가 끝날 때까지 최대 timeout 만큼 기다립니다. 끝났으면 true 를 반환합니다.
+     */
+    public boolean awaitInitialSync(Duration timeout) {
+        try {
+            initialSync.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return initialSync.isDone();
+        }
+    }
+
+    /**
+     * 진행 중인 초기 동기화를 취소합니다. 진행 상황은 체크포인트에 남아 다음 실행 때 이어서 진행됩니다.
+     */
+    public void cancel() {
+        postReindexer.cancel();
+    }
+
+    @Override
+    public void destroy() {
+        cancel();
+        // 이 빈은 PostReindexer -> PostIndexer 보다 먼저 종료되므로, 진행 중인 페이지가 색인 파이프라인이 닫히기 전에 끝나도록 기다립니다.
+        if (started && !awaitInitialSync(Duration.ofSeconds(shutdownTimeoutSeconds))) {
+            log.warn("Elasticsearch 초기 동기화가 {}초 안에 멈추지 않았습니다. (체크포인트부터 다음 실행 때 이어서 진행)", shutdownTimeoutSeconds);
+        }
     }
 }
@@ -2,11 +2,31 @@ package hyunsub.glemoa.collector.service;
 
 import hyunsub.glemoa.collector.entity.Post;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 public interface ICrawler {
 //    List<Post> crawl();
 //    List<Post> crawl(int pageCount);
-    List<Post> crawl(LocalDateTime until);
+//    List<Post> crawl(LocalDateTime until);
+
+    /**
+     * scope 범위까지 목록 페이지를 넘기며, 페이지마다 수집한 게시글을 sink 로 넘깁니다.
+     */
+    void crawl(CrawlScope scope, PostSink sink);
+
+    /**
+     * 게시글의 source 값. 저장/워터마크/카운터 추적을 모두 이 값 기준으로 나눕니다.
+     * 직접 만든 크롤러는 클래스 이름(NatePannCrawler -> natepann)을 쓰고, 설정 기반 크롤러는 BoardSpec.source 를 씁니다.
+     */
+    default String source() {
+        return getClass().getSimpleName().replace("Crawler", "").toLowerCase();
+    }
+
+    // 전체 결과를 한 번에 받고 싶을 때 (수동 실행, 디버깅용)
+    default List<Post> crawl(CrawlScope scope) {
+        List<Post> posts = new ArrayList<>();
+        crawl(scope, posts::addAll);
+        return posts;
+    }
 }
@@ -0,0 +1,118 @@
+package hyunsub.glemoa.collector.service;
+
+import feign.FeignException;
+import hyunsub.glemoa.collector.common.KeywordMatcher;
+import hyunsub.glemoa.collector.dto.KeywordResDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 회원 서비스의 키워드 목록을 로컬에 캐싱하는 레지스트리.
+ * 모든 CrawlerJob이 이 빈 하나를 공유하므로, TTL 동안에는 크롤러 수와 상관없이 한 번만 조회합니다.
+ * - ETag(If-None-Match)로 변경 여부를 확인하고, 304 또는 같은 내용이면 매처를 다시 빌드하지 않습니다.
+ * - 회원 서비스가 느리거나 죽어 있으면 마지막으로 성공한 스냅샷을 그대로 사용합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KeywordRegistry {
+
+    private final MemberFeign memberFeign;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Value("${glemoa.keyword.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    public KeywordMatcher getMatcher() {
+        return current().matcher();
+    }
+
+    /**
+     * 키워드 목록을 한 번이라도 받아왔는지. false 면 getMatcher() 는 아무것도 매칭하지 않는 빈 매처입니다.
+     */
+    public boolean isLoaded() {
+        return current().loaded();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (!current.isExpired(Duration.ofSeconds(ttlSeconds))) {
+            return current;
+        }
+
+        // 아직 한 번도 받아오지 못했다면 갱신이 끝날 때까지 기다리고,
+        // 이미 스냅샷이 있다면 다른 스레드가 갱신하는 동안 기존 스냅샷을 그대로 사용합니다.
+        if (current.fetchedAt() == null) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            return current;
+        }
+        try {
+            if (snapshot.isExpired(Duration.ofSeconds(ttlSeconds))) {
+                snapshot = refresh(snapshot);
+            }
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Snapshot refresh(Snapshot previous) {
+        Instant now = Instant.now();
+        try {
+            ResponseEntity<List<KeywordResDto>> response = memberFeign.getAllKeyword(previous.etag());
+            if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                log.debug("키워드 목록 변경 없음 (304). 기존 스냅샷을 유지합니다.");
+                return previous.touch(now);
+            }
+
+            List<KeywordResDto> keywords = response.getBody() == null ? List.of() : response.getBody();
+            String etag = response.getHeaders().getETag();
+            if (keywords.equals(previous.keywords())) {
+                log.debug("키워드 목록 변경 없음 ({}개). 기존 매처를 유지합니다.", keywords.size());
+                return new Snapshot(previous.keywords(), previous.matcher(), etag, now, true);
+            }
+
+            long start = System.currentTimeMillis();
+            KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+            log.info("키워드 목록 갱신 및 매처 재빌드 완료. (키워드 {}개, 패턴 {}개, {}ms)",
+                    keywords.size(), matcher.patternCount(), System.currentTimeMillis() - start);
+            return new Snapshot(List.copyOf(keywords), matcher, etag, now, true);
+        } catch (FeignException e) {
+            if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                return previous.touch(now);
+            }
+            log.warn("키워드 목록 조회 실패 (status: {}). 마지막 스냅샷({}개)을 사용합니다: {}",
+                    e.status(), previous.keywords().size(), e.getMessage());
+        } catch (Exception e) {
+            log.warn("키워드 목록 조회 실패. 마지막 스냅샷({}개)을 사용합니다: {}", previous.keywords().size(), e.getMessage());
+        }
+        // 실패한 경우에도 TTL 동안은 다시 호출하지 않도록 조회 시각만 갱신합니다.
+        return previous.touch(now);
+    }
+
+    // loaded: 회원 서비스에서 목록을 한 번이라도 받아왔는지 (실패해서 조회 시각만 갱신한 EMPTY 와 구분)
+    private record Snapshot(List<KeywordResDto> keywords, KeywordMatcher matcher, String etag, Instant fetchedAt, boolean loaded) {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), KeywordMatcher.empty(), null, null, false);
+
+        boolean isExpired(Duration ttl) {
+            return fetchedAt == null || fetchedAt.plus(ttl).isBefore(Instant.now());
+        }
+
+        Snapshot touch(Instant now) {
+            return new Snapshot(keywords, matcher, etag, now, loaded);
+        }
+    }
+}
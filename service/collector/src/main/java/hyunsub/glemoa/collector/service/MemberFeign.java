@@ -3,17 +3,21 @@ package hyunsub.glemoa.collector.service;
 import hyunsub.glemoa.collector.dto.KeywordResDto;
 import hyunsub.glemoa.collector.dto.NotificationReqDto;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 import java.util.List;
 
 @FeignClient(name = "glemoa-member")
 public interface MemberFeign {
 
+    // ifNoneMatch: 이전 응답의 ETag. 회원 서비스가 ETag를 지원하면 변경이 없을 때 304를 돌려받습니다.
     @GetMapping("/keyword/all")
-    List<KeywordResDto> getAllKeyword();
+    ResponseEntity<List<KeywordResDto>> getAllKeyword(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     @PostMapping("/notification/create")
     void createNotifications(@RequestBody List<NotificationReqDto> dtos);
@@ -0,0 +1,352 @@
+package hyunsub.glemoa.collector.service;
+
+import hyunsub.glemoa.collector.common.LongHashSet;
+import hyunsub.glemoa.collector.common.PostCounterCache;
+import hyunsub.glemoa.collector.entity.Post;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 최근 게시글의 카운터(댓글/조회/추천 수)를 메모리에 들고, 게시글마다 갱신 주기(tier)를 정하는 추적기.
+ * 카운터는 작성 직후에 빠르게 바뀌고 하루가 지나면 거의 바뀌지 않는데, 지금까지는 lookback 구간 안에 있을 때만 갱신되었습니다.
+ * - 나이와 변화 속도(분당 가중 변화량)로 HOT(5분) / WARM(30분) / COLD(6시간) / FROZEN(갱신 안 함) 을 정합니다.
+ * - CrawlerJob 은 갱신 차례가 된 게시글 중 가장 오래된 작성 시각까지 목록 페이지를 내려가므로, 재조회는 목록 페이지 단위로 묶입니다.
+ * - 다시 가져온 게시글은 새 게시글 / 제목이 바뀐 게시글(upsert), 카운터만 바뀐 게시글(부분 업데이트), 변화 없음으로 나눕니다.
+ * source 별 상태는 처음 쓰일 때 MySQL 의 최근 게시글(max-age-hours)로 채웁니다.
+ * 같은 때에 그 source 의 모든 sourceId 를 primitive long 집합(seen-set)으로 읽어 두고 저장할 때마다 추가하므로,
+ * 추적 범위 밖(FROZEN)의 이미 저장된 게시글은 DB 조회나 upsert 없이 걸러 냅니다.
+ * 추적 항목은 게시글 객체 대신 PostCounterCache(제목 해시 + 묶은 카운터를 담은 primitive 배열, 크기 고정)에 두므로
+ * 변경 여부 판단은 엔티티 조회 없이 메모리 조회 한 번이고, 메모리 사용량은 cache-slots 로 제한됩니다.
+ * 캐시에서 밀려난 최근 게시글은 upsert 경로로 처리되므로 놓치지 않습니다.
+ * 같은 source 는 CrawlerJob 의 개별 락으로 한 번에 하나만 실행되지만, 상태 접근은 source 단위 락으로 동기화합니다.
+ * (가상 스레드에서 불리고 초기화 중에 DB 를 조회하므로, 캐리어 스레드를 붙잡는 synchronized 대신 ReentrantLock 을 씁니다.)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostCounterTracker {
+
+    private static final String WARM_UP_SQL =
+            "SELECT id, source_id, title, comment_count, view_count, recommendation_count, created_at " +
+            "FROM post WHERE source = ? AND created_at >= ?";
+    private static final String SEEN_SQL = "SELECT source_id FROM post WHERE source = ? AND source_id IS NOT NULL";
+
+    public enum Tier {
+        HOT, WARM, COLD, FROZEN
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${glemoa.counter-refresh.hot-minutes:5}")
+    private long hotMinutes;
+
+    @Value("${glemoa.counter-refresh.warm-minutes:30}")
+    private long warmMinutes;
+
+    @Value("${glemoa.counter-refresh.cold-minutes:360}")
+    private long coldMinutes;
+
+    // 변화 속도를 아직 모르는 게시글은 이 나이까지 HOT 으로 시작합니다.
+    @Value("${glemoa.counter-refresh.hot-age-hours:3}")
+    private long hotAgeHours;
+
+    // 이 나이까지는 조용해도 WARM 으로 둡니다.
+    @Value("${glemoa.counter-refresh.warm-age-hours:24}")
+    private long warmAgeHours;
+
+    // 이 나이가 지나면 FROZEN 으로 보고 추적을 멈춥니다.
+    @Value("${glemoa.counter-refresh.max-age-hours:72}")
+    private long maxAgeHours;
+
+    // 분당 가중 변화량(조회 1 + 댓글/추천 5) 기준
+    @Value("${glemoa.counter-refresh.hot-velocity:20}")
+    private double hotVelocity;
+
+    @Value("${glemoa.counter-refresh.warm-velocity:2}")
+    private double warmVelocity;
+
+    // source 별 추적 캐시 슬롯 수 (2의 거듭제곱으로 올림)
+    @Value("${glemoa.counter-refresh.cache-slots:16384}")
+    private int cacheSlots;
+
+    private final Map<String, SourceState> sources = new ConcurrentHashMap<>();
+
+    /**
+     * 갱신 차례가 된 게시글 중 가장 오래된 작성 시각을 반환합니다. 차례가 된 게시글이 없으면 null.
+     */
+    public LocalDateTime refreshUntil(String source) {
+        SourceState state = stateOf(source);
+        long now = epochSecond(LocalDateTime.now());
+        state.lock.lock();
+        try {
+            PostCounterCache cache = state.cache;
+            long until = Long.MAX_VALUE;
+            for (int slot = 0; slot < cache.capacity(); slot++) {
+                if (!cache.isOccupied(slot)) {
+                    continue;
+                }
+                if (tierOf(cache, slot, now) == Tier.FROZEN) {
+                    cache.remove(slot);
+                } else if (isDue(cache, slot, now) && cache.createdAt(slot) < until) {
+                    until = cache.createdAt(slot);
+                }
+            }
+            return until == Long.MAX_VALUE ? null : toLocalDateTime(until);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 이 source 의 게시글이 한 건이라도 저장되어 있으면 true. (최초 크롤링 판단용, DB 조회 없음)
+     */
+    public boolean hasAny(String source) {
+        SourceState state = stateOf(source);
+        state.lock.lock();
+        try {
+            return !state.seen.isEmpty();
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 다시 가져온 게시글을 저장 방식별로 나눕니다.
+     * 이미 추적 중인 게시글에는 id 를 채워 줍니다.
+     * 추적 중이 아니지만 이미 저장된 게시글(max-age-hours 보다 오래됨)은 갱신 대상이 아니므로 저장하지 않습니다.
+     */
+    public CounterPlan plan(String source, List<Post> crawledPosts) {
+        SourceState state = stateOf(source);
+        long frozenBefore = epochSecond(LocalDateTime.now().minusHours(maxAgeHours));
+        List<Post> upserts = new ArrayList<>();
+        List<Post> counterUpdates = new ArrayList<>();
+        int unchanged = 0;
+        int frozen = 0;
+        state.lock.lock();
+        try {
+            PostCounterCache cache = state.cache;
+            for (Post post : crawledPosts) {
+                Long sourceId = post.getSourceId();
+                int slot = sourceId == null ? PostCounterCache.NOT_FOUND : cache.find(sourceId);
+                if (slot == PostCounterCache.NOT_FOUND) {
+                    if (sourceId != null && state.seen.contains(sourceId)
+                            && post.getCreatedAt() != null && epochSecond(post.getCreatedAt()) < frozenBefore) {
+                        frozen++;
+                    } else {
+                        upserts.add(post);
+                    }
+                    continue;
+                }
+                if (cache.titleHash(slot) != Objects.hashCode(post.getTitle())) {
+                    upserts.add(post);
+                    continue;
+                }
+                post.setId(cache.postId(slot));
+                if (cache.counters(slot) == packCounters(post)) {
+                    unchanged++;
+                } else {
+                    counterUpdates.add(post);
+                }
+            }
+        } finally {
+            state.lock.unlock();
+        }
+        return new CounterPlan(upserts, counterUpdates, unchanged, frozen);
+    }
+
+    /**
+     * 저장이 끝난 게시글의 카운터를 기록하고, 변화 속도로 다음 갱신 주기를 다시 정합니다.
+     */
+    public void record(String source, List<Post> savedPosts) {
+        SourceState state = stateOf(source);
+        long now = epochSecond(LocalDateTime.now());
+        long frozenBefore = now - maxAgeHours * 3600;
+        state.lock.lock();
+        try {
+            PostCounterCache cache = state.cache;
+            for (Post post : savedPosts) {
+                if (post.getId() == null || post.getSourceId() == null || post.getCreatedAt() == null) {
+                    continue;
+                }
+                state.seen.add(post.getSourceId());
+                long packed = packCounters(post);
+                int slot = cache.find(post.getSourceId());
+                if (slot == PostCounterCache.NOT_FOUND) {
+                    long createdAt = epochSecond(post.getCreatedAt());
+                    if (createdAt < frozenBefore) {
+                        continue;
+                    }
+                    slot = cache.put(post.getSourceId(), post.getId(), createdAt);
+                    if (slot == PostCounterCache.NOT_FOUND) {
+                        continue;
+                    }
+                } else {
+                    observe(cache, slot, packed, now);
+                }
+                cache.update(slot, packed, Objects.hashCode(post.getTitle()), now);
+                cache.setTier(slot, (byte) tierOf(cache, slot, now).ordinal());
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * until 이후에 작성된 게시글을 모두 훑었다면, 목록에서 보이지 않은 게시글(삭제, 목록에서 빠짐)도 갱신된 것으로 봅니다.
+     * (그렇지 않으면 계속 갱신 차례로 남아 매번 그 깊이까지 내려가게 됩니다.)
+     */
+    public void markRefreshed(String source, LocalDateTime until) {
+        SourceState state = stateOf(source);
+        long now = epochSecond(LocalDateTime.now());
+        long from = epochSecond(until);
+        state.lock.lock();
+        try {
+            PostCounterCache cache = state.cache;
+            for (int slot = 0; slot < cache.capacity(); slot++) {
+                if (cache.isOccupied(slot) && cache.createdAt(slot) >= from && isDue(cache, slot, now)) {
+                    cache.setRefreshedAt(slot, now);
+                    cache.setTier(slot, (byte) tierOf(cache, slot, now).ordinal());
+                }
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private SourceState stateOf(String source) {
+        SourceState state = sources.computeIfAbsent(source, key -> new SourceState(new PostCounterCache(cacheSlots)));
+        state.lock.lock();
+        try {
+            if (!state.warmedUp) {
+                warmUp(source, state);
+                state.warmedUp = true;
+            }
+        } finally {
+            state.lock.unlock();
+        }
+        return state;
+    }
+
+    // 재시작 직후에도 바로 tier 를 적용할 수 있도록 MySQL 의 최근 게시글로 채웁니다. (지금 값을 방금 확인한 값으로 봄)
+    private void warmUp(String source, SourceState state) {
+        LocalDateTime now = LocalDateTime.now();
+        long nowSecond = epochSecond(now);
+        PostCounterCache cache = state.cache;
+        jdbcTemplate.query(WARM_UP_SQL, (RowCallbackHandler) rs -> {
+            Timestamp createdAt = rs.getTimestamp(7);
+            if (createdAt == null) {
+                return;
+            }
+            int slot = cache.put(rs.getLong(2), rs.getLong(1), epochSecond(createdAt.toLocalDateTime()));
+            if (slot == PostCounterCache.NOT_FOUND) {
+                return;
+            }
+            cache.update(slot, PostCounterCache.pack(rs.getInt(4), rs.getInt(5), rs.getInt(6)),
+                    Objects.hashCode(rs.getString(3)), nowSecond);
+            cache.setTier(slot, (byte) tierOf(cache, slot, nowSecond).ordinal());
+        }, source, Timestamp.valueOf(now.minusHours(maxAgeHours)));
+        jdbcTemplate.query(SEEN_SQL, (RowCallbackHandler) rs -> state.seen.add(rs.getLong(1)), source);
+        log.info("[{}] 카운터 추적 초기화: 최근 {}시간 게시글 {}건 (캐시 {}슬롯), 저장된 sourceId {}건",
+                source, maxAgeHours, cache.size(), cache.capacity(), state.seen.size());
+    }
+
+    private boolean isDue(PostCounterCache cache, int slot, long now) {
+        Tier tier = Tier.values()[cache.tier(slot)];
+        return tier != Tier.FROZEN && cache.refreshedAt(slot) + intervalMinutes(tier) * 60 <= now;
+    }
+
+    private Tier tierOf(PostCounterCache cache, int slot, long now) {
+        long age = now - cache.createdAt(slot);
+        if (age > maxAgeHours * 3600) {
+            return Tier.FROZEN;
+        }
+        float velocity = cache.velocity(slot);
+        if (velocity < 0) {
+            // 아직 두 번 이상 보지 못해 변화 속도를 모르면 나이로만 정합니다.
+            if (age < hotAgeHours * 3600) {
+                return Tier.HOT;
+            }
+            return age < warmAgeHours * 3600 ? Tier.WARM : Tier.COLD;
+        }
+        if (velocity >= hotVelocity) {
+            return Tier.HOT;
+        }
+        if (velocity >= warmVelocity || age < warmAgeHours * 3600) {
+            return Tier.WARM;
+        }
+        return Tier.COLD;
+    }
+
+    private long intervalMinutes(Tier tier) {
+        return switch (tier) {
+            case HOT -> hotMinutes;
+            case WARM -> warmMinutes;
+            case COLD -> coldMinutes;
+            case FROZEN -> Long.MAX_VALUE;
+        };
+    }
+
+    // 분당 가중 변화량(조회 1 + 댓글/추천 5)의 지수 이동 평균을 갱신합니다.
+    private static void observe(PostCounterCache cache, int slot, long packed, long now) {
+        long previous = cache.counters(slot);
+        long delta = Math.abs(PostCounterCache.viewCount(packed) - PostCounterCache.viewCount(previous))
+                + 5L * Math.abs(PostCounterCache.commentCount(packed) - PostCounterCache.commentCount(previous))
+                + 5L * Math.abs(PostCounterCache.recommendationCount(packed) - PostCounterCache.recommendationCount(previous));
+        double minutes = Math.max(1.0, (now - cache.refreshedAt(slot)) / 60.0);
+        float sample = (float) (delta / minutes);
+        float velocity = cache.velocity(slot);
+        cache.setVelocity(slot, velocity < 0 ? sample : velocity * 0.5f + sample * 0.5f);
+    }
+
+    private static long packCounters(Post post) {
+        return PostCounterCache.pack(count(post.getCommentCount()), count(post.getViewCount()), count(post.getRecommendationCount()));
+    }
+
+    private static int count(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    // 나이/주기 계산만 하므로 시간대와 상관없이 UTC 기준 epoch 초로 바꿔 씁니다.
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static final class SourceState {
+        // sourceId -> 최근 게시글의 id / 제목 해시 / 카운터 / 갱신 주기
+        private final PostCounterCache cache;
+        // 저장된 모든 sourceId (삭제 없음)
+        private final LongHashSet seen = new LongHashSet(1024);
+        // 아래 필드를 포함한 상태 전체를 보호합니다.
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean warmedUp;
+
+        private SourceState(PostCounterCache cache) {
+            this.cache = cache;
+        }
+    }
+
+    /**
+     * upserts: 새 게시글이거나 제목이 바뀐 게시글 / counterUpdates: 카운터만 바뀐 게시글 (id 채워짐)
+     * frozenCount: 이미 저장되었고 갱신 주기가 지난(FROZEN) 게시글이라 건너뛴 수
+     */
+    public record CounterPlan(List<Post> upserts, List<Post> counterUpdates, int unchangedCount, int frozenCount) {
+    }
+}
@@ -0,0 +1,309 @@
+package hyunsub.glemoa.collector.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import hyunsub.glemoa.collector.document.PostDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PostDocument 를 Elasticsearch 에 비동기로 색인하는 파이프라인.
+ * 기존 postDocumentRepository.saveAll 은 호출마다 동기 bulk 요청 + 인덱스 refresh 를 보내고,
+ * 실패하면 예외로 나머지 작업이 모두 중단되었습니다. 여기서는 Elasticsearch Java 클라이언트의 BulkIngester 로
+ * - 문서 수(max-operations) 또는 요청 크기(max-size-bytes)가 차면 bulk 요청을 보내고,
+ * - 동시에 보내는 bulk 요청 수를 max-concurrent-requests 로 제한하며 (가득 차면 index() 호출이 잠시 대기),
+ * - 429(거부) 등 일시적인 실패는 문서 단위로 골라 backoff 후 다시 넣고,
+ * - refresh 는 강제하지 않습니다. (인덱스 refresh_interval 에 맡김)
+ * index() 는 문서를 넘기자마자 반환하고, 결과는 CompletableFuture 로 알려 줍니다.
+ * updateCounters() 는 같은 파이프라인으로 댓글/조회/추천 수 필드만 부분 업데이트합니다. (문서가 없으면 전체 색인으로 대신함)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostIndexer implements InitializingBean, DisposableBean {
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    @Value("${glemoa.indexer.max-operations:1000}")
+    private int maxOperations;
+
+    @Value("${glemoa.indexer.max-size-bytes:5242880}")
+    private long maxSizeBytes;
+
+    @Value("${glemoa.indexer.max-concurrent-requests:2}")
+    private int maxConcurrentRequests;
+
+    @Value("${glemoa.indexer.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${glemoa.indexer.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${glemoa.indexer.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    // 종료 시 이미 예약된 재시도가 끝날 때까지 기다리는 최대 시간
+    @Value("${glemoa.indexer.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    private String indexName;
+    private volatile BulkIngester<PendingDocument> ingester;
+    // 재시도는 bulk 응답 콜백 스레드를 막지 않도록 별도 스레드에서 다시 넣습니다.
+    private ScheduledExecutorService retryScheduler;
+    // 아직 결과가 나오지 않은 index() / updateCounters() 호출 (종료 시 남은 것은 실패로 완료)
+    private final Set<Ticket> openTickets = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void afterPropertiesSet() {
+        indexName = elasticsearchOperations.getIndexCoordinatesFor(PostDocument.class).getIndexName();
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("post-indexer-retry").daemon().factory());
+        ingester = newIngester();
+        log.info("PostDocument 색인 파이프라인 초기화 (인덱스: {}, {}건/{}bytes 단위, 동시 요청 {}개)",
+                indexName, maxOperations, maxSizeBytes, maxConcurrentRequests);
+    }
+
+    private BulkIngester<PendingDocument> newIngester() {
+        return BulkIngester.of(b -> b
+                .client(elasticsearchClient)
+                .maxOperations(maxOperations)
+                .maxSize(maxSizeBytes)
+                .maxConcurrentRequests(maxConcurrentRequests)
+                .flushInterval(flushIntervalMs, TimeUnit.MILLISECONDS)
+                .listener(new ResultListener()));
+    }
+
+    /**
+     * 문서를 색인 대기열에 넣고 바로 반환합니다.
+     * 반환된 future 는 모든 문서의 처리가 끝나면(성공 또는 재시도 포기) 결과와 함께 완료됩니다.
+     */
+    public CompletableFuture<IndexResult> index(List<PostDocument> documents) {
+        if (documents.isEmpty()) {
+            return CompletableFuture.completedFuture(new IndexResult(0, 0));
+        }
+        return submit(documents, false);
+    }
+
+    /**
+     * 카운터(댓글/조회/추천 수)만 바뀐 문서를 부분 업데이트합니다.
+     * 제목/본문 분석을 다시 하지 않으므로 전체 색인보다 가볍습니다.
+     */
+    public CompletableFuture<IndexResult> updateCounters(List<PostDocument> documents) {
+        if (documents.isEmpty()) {
+            return CompletableFuture.completedFuture(new IndexResult(0, 0));
+        }
+        return submit(documents, true);
+    }
+
+    private CompletableFuture<IndexResult> submit(List<PostDocument> documents, boolean countersOnly) {
+        Ticket ticket = new Ticket(documents.size());
+        openTickets.add(ticket);
+        ticket.future.whenComplete((result, e) -> openTickets.remove(ticket));
+        for (PostDocument document : documents) {
+            add(new PendingDocument(document, ticket, 0, countersOnly));
+        }
+        return ticket.future;
+    }
+
+    private void add(PendingDocument pending) {
+        String id = String.valueOf(pending.document().getId());
+        BulkOperation operation;
+        if (pending.countersOnly()) {
+            Map<String, Object> counters = new HashMap<>();
+            counters.put("commentCount", pending.document().getCommentCount());
+            counters.put("viewCount", pending.document().getViewCount());
+            counters.put("recommendationCount", pending.document().getRecommendationCount());
+            counters.put("contentHash", pending.document().getContentHash());
+            operation = BulkOperation.of(op -> op.update(upd -> upd
+                    .index(indexName)
+                    .id(id)
+                    .action(action -> action.doc(counters))));
+        } else {
+            // Spring Data 매핑(@Field 날짜 포맷, _class 등)을 그대로 따르도록 ElasticsearchConverter 로 변환합니다.
+            Document source = elasticsearchOperations.getElasticsearchConverter().mapObject(pending.document());
+            operation = BulkOperation.of(op -> op.index(idx -> idx
+                    .index(indexName)
+                    .id(id)
+                    .document(source)));
+        }
+        ingester.add(operation, pending);
+    }
+
+    private void retryOrFail(PendingDocument pending, String reason) {
+        if (pending.attempt() >= maxRetries) {
+            log.warn("게시글 {} 색인 실패 ({}회 재시도 후 포기): {}", pending.document().getId(), pending.attempt(), reason);
+            pending.ticket().done(false);
+            return;
+        }
+        long delay = retryBackoffMs << pending.attempt();
+        try {
+            retryScheduler.schedule(() -> {
+                try {
+                    add(pending.next());
+                } catch (Exception e) {
+                    log.warn("게시글 {} 재색인 등록 실패: {}", pending.document().getId(), e.getMessage());
+                    pending.ticket().done(false);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중에는 새 재시도를 받지 않습니다.
+            log.warn("게시글 {} 색인 실패 (종료 중이라 재시도하지 않음): {}", pending.document().getId(), reason);
+            pending.ticket().done(false);
+        }
+    }
+
+    private void retryAsIndex(PendingDocument pending) {
+        try {
+            retryScheduler.execute(() -> {
+                try {
+                    add(pending.asIndex());
+                } catch (Exception e) {
+                    log.warn("게시글 {} 전체 색인 등록 실패: {}", pending.document().getId(), e.getMessage());
+                    pending.ticket().done(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("게시글 {} 전체 색인 실패 (종료 중이라 재시도하지 않음)", pending.document().getId());
+            pending.ticket().done(false);
+        }
+    }
+
+    // 429(too_many_requests), 503 처럼 잠시 후 다시 보내면 성공할 수 있는 상태만 재시도합니다.
+    private static boolean isRetryable(int status) {
+        return status == 429 || status == 502 || status == 503 || status == 504;
+    }
+
+    @Override
+    public void destroy() {
+        if (ingester == null) {
+            return;
+        }
+        // 남은 문서를 보내고, 진행 중인 bulk 요청이 끝날 때까지 기다립니다.
+        ingester.close();
+        // 이미 예약된 재시도를 버리면 그 문서의 index().join() 이 끝나지 않으므로, 새 ingester 로 받아 보낸 뒤 닫습니다.
+        // (이 단계에서 다시 실패한 문서는 재시도하지 않고 실패로 처리)
+        ingester = newIngester();
+        retryScheduler.shutdown();
+        try {
+            if (!retryScheduler.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("색인 재시도가 {}초 안에 끝나지 않아 중단합니다.", shutdownTimeoutSeconds);
+                retryScheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            retryScheduler.shutdownNow();
+        }
+        ingester.close();
+
+        // 그래도 결과가 나오지 않은 문서는 실패로 완료해, 기다리는 호출이 멈춰 있지 않게 합니다.
+        for (Ticket ticket : openTickets) {
+            ticket.failRemaining();
+        }
+        log.info("PostDocument 색인 파이프라인을 종료합니다.");
+    }
+
+    private class ResultListener implements BulkListener<PendingDocument> {
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<PendingDocument> contexts) {
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<PendingDocument> contexts, BulkResponse response) {
+            List<BulkResponseItem> items = response.items();
+            int failed = 0;
+            for (int i = 0; i < contexts.size(); i++) {
+                PendingDocument pending = contexts.get(i);
+                BulkResponseItem item = i < items.size() ? items.get(i) : null;
+                if (item != null && item.error() == null) {
+                    pending.ticket().done(true);
+                    continue;
+                }
+                failed++;
+                if (item != null && item.status() == 404 && pending.countersOnly()) {
+                    // 아직 색인되지 않은 문서는 부분 업데이트할 수 없으므로 전체 문서로 색인합니다.
+                    retryAsIndex(pending);
+                } else if (item == null) {
+                    retryOrFail(pending, "응답 항목 없음");
+                } else if (isRetryable(item.status())) {
+                    retryOrFail(pending, item.error().reason());
+                } else {
+                    log.warn("게시글 {} 색인 실패 (status: {}): {}", pending.document().getId(), item.status(), item.error().reason());
+                    pending.ticket().done(false);
+                }
+            }
+            log.debug("bulk 색인 #{} 완료 ({}건, 실패 {}건, {}ms)", executionId, contexts.size(), failed, response.took());
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<PendingDocument> contexts, Throwable failure) {
+            // 요청 자체가 실패(연결 오류, 타임아웃 등)하면 모든 문서를 재시도 대상으로 봅니다.
+            log.warn("bulk 색인 #{} 요청 실패 ({}건): {}", executionId, contexts.size(), failure.getMessage());
+            for (PendingDocument pending : contexts) {
+                retryOrFail(pending, failure.getMessage());
+            }
+        }
+    }
+
+    private record PendingDocument(PostDocument document, Ticket ticket, int attempt, boolean countersOnly) {
+        PendingDocument next() {
+            return new PendingDocument(document, ticket, attempt + 1, countersOnly);
+        }
+
+        PendingDocument asIndex() {
+            return new PendingDocument(document, ticket, attempt, false);
+        }
+    }
+
+    // index() 한 번에 넘긴 문서들의 처리 현황
+    private static final class Ticket {
+        private final AtomicInteger remaining;
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final CompletableFuture<IndexResult> future = new CompletableFuture<>();
+
+        private Ticket(int size) {
+            this.remaining = new AtomicInteger(size);
+        }
+
+        private void done(boolean success) {
+            (success ? succeeded : failed).incrementAndGet();
+            if (remaining.decrementAndGet() == 0) {
+                future.complete(new IndexResult(succeeded.get(), failed.get()));
+            }
+        }
+
+        private void failRemaining() {
+            int left = remaining.getAndSet(0);
+            if (left > 0) {
+                future.complete(new IndexResult(succeeded.get(), failed.addAndGet(left)));
+            }
+        }
+    }
+
+    public record IndexResult(int succeeded, int failed) {
+    }
+}
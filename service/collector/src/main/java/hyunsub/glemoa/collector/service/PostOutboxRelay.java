@@ -0,0 +1,227 @@
+package hyunsub.glemoa.collector.service;
+
+import hyunsub.glemoa.collector.common.KeywordMatcher;
+import hyunsub.glemoa.collector.document.PostDocument;
+import hyunsub.glemoa.collector.dto.KeywordResDto;
+import hyunsub.glemoa.collector.dto.NotificationReqDto;
+import hyunsub.glemoa.collector.entity.Post;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository.EventType;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository.OutboxEntry;
+import hyunsub.glemoa.collector.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * post_outbox 에 쌓인 후속 작업을 꺼내 처리하는 릴레이.
+ * 크롤링(CrawlerJob)은 MySQL upsert 와 outbox 기록만 하고 끝나며, Elasticsearch 색인과 키워드 알림은 여기서 배치로 처리합니다.
+ * - 처리에 성공한 항목만 삭제하므로 최소 한 번(at-least-once) 전달됩니다. (색인은 같은 id 로 덮어쓰므로 중복돼도 안전)
+ * - 실패한 항목은 시도 횟수에 따라 점점 늦게 다시 시도하고, max-attempts 번 실패하면 dead-letter 로 남깁니다.
+ * - 알림은 게시글(outbox 항목) 단위로 보내므로, 일부가 실패해도 이미 보낸 알림을 다시 보내지 않습니다.
+ * - 키워드 목록을 처음 받아오기 전에는 알림 항목을 꺼내지 않고 그대로 둡니다. (시도 횟수도 올리지 않음)
+ * 색인 완료를 기다리는 동안 스레드가 묶이므로, 크롤러 트리거가 쓰는 공용 스케줄러(spring.task.scheduling)가 아닌 전용 스레드에서 실행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostOutboxRelay implements InitializingBean, DisposableBean {
+
+    private final PostOutboxRepository postOutboxRepository;
+    private final PostRepository postRepository;
+    private final PostIndexer postIndexer;
+    private final MemberFeign memberFeign;
+    private final KeywordRegistry keywordRegistry;
+
+    @Value("${glemoa.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${glemoa.outbox.max-backoff-seconds:600}")
+    private long maxBackoffSeconds;
+
+    @Value("${glemoa.outbox.max-attempts:20}")
+    private int maxAttempts;
+
+    @Value("${glemoa.outbox.relay-interval-ms:1000}")
+    private long relayIntervalMs;
+
+    @Value("${glemoa.outbox.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    private ScheduledExecutorService relayScheduler;
+
+    @Override
+    public void afterPropertiesSet() {
+        relayScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("post-outbox-relay").daemon().factory());
+        relayScheduler.scheduleWithFixedDelay(this::relaySafely, relayIntervalMs, relayIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // 예외가 밖으로 나가면 이후 실행이 모두 취소되므로 여기서 잡습니다.
+    private void relaySafely() {
+        try {
+            relay();
+        } catch (Exception e) {
+            log.error("outbox 릴레이 실행 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    public void relay() {
+        drain(EventType.INDEX, this::index);
+        if (keywordRegistry.isLoaded()) {
+            drain(EventType.NOTIFY, this::sendNotifications);
+        } else {
+            // 빈 매처로 처리하면 아무것도 매칭되지 않은 채 항목이 지워지므로, 목록을 받아올 때까지 알림 항목은 꺼내지 않습니다.
+            // (실패로 세지 않으므로 회원 서비스가 오래 응답하지 않아도 dead-letter 로 넘어가지 않습니다.)
+            log.debug("키워드 목록을 아직 받아오지 못해 알림 처리를 보류합니다.");
+        }
+        drain(EventType.COUNTERS, this::updateCounters);
+    }
+
+    // 한 번 실행할 때 처리할 차례가 된 항목을 모두 비웁니다. 한 배치라도 실패한 항목이 있으면 다음 실행으로 넘깁니다.
+    // handler 는 처리하지 못한 게시글 id 를 돌려줍니다. (비어 있으면 모두 성공)
+    private void drain(EventType eventType, Function<List<Post>, Set<Long>> handler) {
+        List<OutboxEntry> entries;
+        do {
+            entries = postOutboxRepository.findDue(eventType, batchSize);
+            if (entries.isEmpty()) {
+                return;
+            }
+
+            Set<Long> postIds = entries.stream().map(OutboxEntry::postId).collect(Collectors.toCollection(LinkedHashSet::new));
+            Map<Long, Post> posts = postRepository.findAllById(postIds).stream()
+                    .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+            Set<Long> failedPostIds;
+            try {
+                // 삭제된 게시글은 건너뜁니다.
+                failedPostIds = posts.isEmpty() ? Set.of() : handler.apply(new ArrayList<>(posts.values()));
+            } catch (Exception e) {
+                log.warn("outbox {} 항목 {}건 처리 실패: {}", eventType, entries.size(), e.getMessage());
+                failedPostIds = postIds;
+            }
+
+            List<Long> doneIds = new ArrayList<>();
+            List<OutboxEntry> failed = new ArrayList<>();
+            for (OutboxEntry entry : entries) {
+                if (failedPostIds.contains(entry.postId())) {
+                    failed.add(entry);
+                } else {
+                    doneIds.add(entry.id());
+                }
+            }
+            postOutboxRepository.delete(doneIds);
+            log.debug("outbox {} 항목 {}건 처리 완료", eventType, doneIds.size());
+            if (!failed.isEmpty()) {
+                retryLater(eventType, failed);
+                return;
+            }
+        } while (entries.size() == batchSize);
+    }
+
+    private void retryLater(EventType eventType, List<OutboxEntry> failed) {
+        List<Long> deadIds = new ArrayList<>();
+        List<Long> retryIds = new ArrayList<>();
+        int attempts = 0;
+        for (OutboxEntry entry : failed) {
+            if (entry.attempts() + 1 >= maxAttempts) {
+                deadIds.add(entry.id());
+            } else {
+                retryIds.add(entry.id());
+                attempts = Math.max(attempts, entry.attempts());
+            }
+        }
+        if (!deadIds.isEmpty()) {
+            postOutboxRepository.markDead(deadIds);
+            log.error("outbox {} 항목 {}건이 {}회 실패하여 더 이상 재시도하지 않습니다. (post_outbox.dead_at 기록)", eventType, deadIds.size(), maxAttempts);
+        }
+        if (!retryIds.isEmpty()) {
+            long backoffSeconds = Math.min(maxBackoffSeconds, 1L << Math.min(attempts + 1, 20));
+            postOutboxRepository.reschedule(retryIds, backoffSeconds);
+            log.warn("outbox {} 항목 {}건을 {}초 후 다시 시도합니다. (시도 {}회)", eventType, retryIds.size(), backoffSeconds, attempts + 1);
+        }
+    }
+
+    private Set<Long> index(List<Post> posts) {
+        List<PostDocument> documents = posts.stream().map(PostDocument::from).collect(Collectors.toList());
+        PostIndexer.IndexResult result = postIndexer.index(documents).join();
+        log.info("Elasticsearch 색인 완료. (성공 {}건, 실패 {}건)", result.succeeded(), result.failed());
+        return result.failed() == 0 ? Set.of() : idsOf(posts);
+    }
+
+    // 카운터만 바뀐 게시글은 부분 업데이트로 반영합니다. (MySQL의 현재 값을 보내므로 순서가 뒤섞여도 최신 값으로 수렴)
+    private Set<Long> updateCounters(List<Post> posts) {
+        List<PostDocument> documents = posts.stream().map(PostDocument::from).collect(Collectors.toList());
+        PostIndexer.IndexResult result = postIndexer.updateCounters(documents).join();
+        log.info("Elasticsearch 카운터 갱신 완료. (성공 {}건, 실패 {}건)", result.succeeded(), result.failed());
+        return result.failed() == 0 ? Set.of() : idsOf(posts);
+    }
+
+    // 키워드별 알림 전송
+    // 키워드 목록으로 만든 Aho-Corasick 매처로 제목을 한 번만 훑어 매칭되는 키워드를 모두 찾습니다.
+    // 키워드 목록은 모든 크롤러가 공유하는 KeywordRegistry 캐시에서 가져옵니다.
+    private Set<Long> sendNotifications(List<Post> posts) {
+        KeywordMatcher keywordMatcher = keywordRegistry.getMatcher();
+        Set<Long> failedPostIds = new HashSet<>();
+        int sent = 0;
+        for (Post post : posts) {
+            List<NotificationReqDto> notifications = new ArrayList<>();
+            for (KeywordResDto keywordResDto : keywordMatcher.match(post.getTitle())) {
+                // 게시글 제목에 키워드가 있다면 알림 대상
+                notifications.add(
+                        NotificationReqDto.builder()
+                                .keywordId(keywordResDto.getKeywordId())
+                                .memberId(keywordResDto.getMemberId())
+                                .postId(post.getId())
+                                .build());
+            }
+            if (notifications.isEmpty()) {
+                continue;
+            }
+            // 게시글 단위로 보내서, 실패한 게시글의 항목만 다시 시도합니다.
+            try {
+                memberFeign.createNotifications(notifications);
+                sent += notifications.size();
+            } catch (Exception e) {
+                failedPostIds.add(post.getId());
+                log.warn("게시글 {} 키워드 알림 전송 실패: {}", post.getId(), e.getMessage());
+            }
+        }
+
+        if (sent > 0) {
+            log.info("키워드 알림 {} 건 전송 완료", sent);
+        }
+        return failedPostIds;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // PostIndexer 보다 먼저 종료되므로(의존 관계), 진행 중인 배치가 색인 결과를 받을 때까지 기다립니다.
+        if (relayScheduler == null) {
+            return;
+        }
+        relayScheduler.shutdown();
+        if (!relayScheduler.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+            log.warn("outbox 릴레이가 {}초 안에 끝나지 않아 중단합니다. (남은 항목은 다음 기동 때 다시 처리)", shutdownTimeoutSeconds);
+            relayScheduler.shutdownNow();
+        }
+    }
+
+    private static Set<Long> idsOf(List<Post> posts) {
+        return posts.stream().map(Post::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,234 @@
+package hyunsub.glemoa.collector.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.HistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import hyunsub.glemoa.collector.document.PostDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * MySQL post 테이블과 Elasticsearch posts 인덱스의 정합성 검사.
+ * 전체 문서 수만 비교하면 수는 같고 내용이 다른 경우를 놓치고, 수가 다르면 전체를 다시 복사해야 했습니다.
+ * 여기서는 (source, id 구간) 단위로 양쪽의 집계값(문서 수, id 합, 내용 해시 합)을 비교하고,
+ * 값이 다른 구간만 PostReindexer 로 다시 색인합니다.
+ * - 내용 해시는 제목/댓글/조회/추천 수의 CRC32 입니다. MySQL 은 post.content_hash 생성 컬럼, Elasticsearch 는 contentHash 필드에 저장합니다.
+ *   (title 은 Elasticsearch 에서 집계할 수 없는 text 필드이므로 해시로 비교하고, 카운터끼리 증감이 상쇄되어도 해시 합은 달라집니다.)
+ * - Elasticsearch 에만 있는 문서(MySQL에서 삭제된 게시글)는 로그로만 알립니다.
+ * - source 가 비어 있는 게시글은 양쪽 모두 source = null 구간으로 묶어 비교합니다.
+ * 구간 재색인은 오래 걸리므로, 크롤러 트리거가 쓰는 공용 스케줄러가 아닌 전용 스레드에서 실행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostReconciler implements InitializingBean, DisposableBean {
+
+    private static final String MYSQL_AGGREGATE_SQL =
+            "SELECT source, id DIV ? AS bucket, COUNT(*), SUM(id), SUM(content_hash) FROM post GROUP BY source, bucket";
+
+    // source 가 없는 문서를 모으는 terms 버킷 키 (MySQL 의 source IS NULL 구간과 비교)
+    private static final String MISSING_SOURCE = "__missing__";
+
+    // id 는 keyword 로 매핑되어 있으므로 런타임 필드로 숫자로 바꿔 구간/합계를 구합니다.
+    private static final String ES_AGGREGATE_JSON = """
+            {
+              "size": 0,
+              "runtime_mappings": {
+                "id_num": { "type": "long", "script": "emit(Long.parseLong(doc['id'].value))" }
+              },
+              "aggs": {
+                "by_source": {
+                  "terms": { "field": "source", "size": 1000, "missing": "%s" },
+                  "aggs": {
+                    "by_bucket": {
+                      "histogram": { "field": "id_num", "interval": %d, "min_doc_count": 1 },
+                      "aggs": {
+                        "id_sum": { "sum": { "field": "id_num" } },
+                        "hash_sum": { "sum": { "field": "contentHash" } }
+                      }
+                    }
+                  }
+                }
+              }
+            }
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final PostReindexer postReindexer;
+
+    @Value("${glemoa.reconcile.bucket-size:10000}")
+    private long bucketSize;
+
+    // 종료 시 진행 중인 구간 재색인이 멈출 때까지 기다리는 최대 시간
+    @Value("${glemoa.reconcile.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private ExecutorService reconcileExecutor;
+
+    @Override
+    public void afterPropertiesSet() {
+        reconcileExecutor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("post-reconciler").daemon().factory());
+    }
+
+    @Scheduled(cron = "${glemoa.reconcile.cron:0 30 4 * * *}")
+    public void scheduledReconcile() {
+        // 초기 적재(전체 재색인) 중에는 당연히 어긋나 있으므로 건너뜁니다.
+        if (postReindexer.isRunning()) {
+            log.info("Elasticsearch 동기화가 진행 중이라 정합성 검사를 건너뜁니다.");
+            return;
+        }
+        reconcileAsync();
+    }
+
+    /**
+     * 정합성 검사를 전용 스레드에 넘기고 바로 반환합니다. 결과는 다시 색인한 문서 수입니다.
+     */
+    public CompletableFuture<Long> reconcileAsync() {
+        try {
+            return CompletableFuture.supplyAsync(this::reconcile, reconcileExecutor);
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 실행기가 작업을 받지 않습니다.
+            log.warn("정합성 검사를 실행하지 못했습니다: {}", e.getMessage());
+            return CompletableFuture.completedFuture(0L);
+        }
+    }
+
+    /**
+     * 정합성 검사를 호출한 스레드에서 실행하고 다시 색인한 문서 수를 반환합니다.
+     */
+    public long reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("정합성 검사가 이미 실행 중입니다.");
+            return 0;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Map<RangeKey, RangeAggregate> mysql = aggregateMysql();
+            Map<RangeKey, RangeAggregate> elasticsearch = aggregateElasticsearch();
+
+            Set<RangeKey> keys = new HashSet<>(mysql.keySet());
+            keys.addAll(elasticsearch.keySet());
+
+            int diverged = 0;
+            long reindexed = 0;
+            for (RangeKey key : keys) {
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("정합성 검사가 중단되었습니다. 남은 구간은 다음 검사 때 다시 비교합니다.");
+                    break;
+                }
+                RangeAggregate expected = mysql.getOrDefault(key, RangeAggregate.EMPTY);
+                RangeAggregate actual = elasticsearch.getOrDefault(key, RangeAggregate.EMPTY);
+                if (expected.equals(actual)) {
+                    continue;
+                }
+                diverged++;
+                if (actual.count() > expected.count()) {
+                    log.warn("[{}] id {}~{} 구간에 MySQL에 없는 Elasticsearch 문서가 있습니다. (MySQL {}건, ES {}건)",
+                            key.source(), key.fromId(bucketSize), key.toId(bucketSize), expected.count(), actual.count());
+                }
+                if (expected.count() == 0) {
+                    continue;
+                }
+                // source 가 null 인 구간은 source IS NULL 인 게시글만 다시 색인합니다.
+                long count = postReindexer.reindexRange(key.source(), key.fromId(bucketSize) - 1, key.toId(bucketSize));
+                reindexed += count;
+                log.info("[{}] id {}~{} 구간 불일치 (MySQL {}건, ES {}건) -> {}건 재색인",
+                        key.source(), key.fromId(bucketSize), key.toId(bucketSize), expected.count(), actual.count(), count);
+            }
+
+            log.info("정합성 검사 완료. (구간 {}개 중 {}개 불일치, {}건 재색인, {}ms)",
+                    keys.size(), diverged, reindexed, System.currentTimeMillis() - start);
+            return reindexed;
+        } catch (Exception e) {
+            log.error("정합성 검사 중 오류 발생: {}", e.getMessage(), e);
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // PostReindexer -> PostIndexer 보다 먼저 종료되므로, 인터럽트로 멈춘 구간 재색인이 색인 결과를 받을 때까지 기다립니다.
+        if (reconcileExecutor == null) {
+            return;
+        }
+        reconcileExecutor.shutdownNow();
+        if (!reconcileExecutor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+            log.warn("정합성 검사가 {}초 안에 멈추지 않았습니다. (다음 검사 때 다시 비교)", shutdownTimeoutSeconds);
+        }
+    }
+
+    private Map<RangeKey, RangeAggregate> aggregateMysql() {
+        Map<RangeKey, RangeAggregate> result = new HashMap<>();
+        jdbcTemplate.query(MYSQL_AGGREGATE_SQL, (RowCallbackHandler) rs -> {
+            result.put(new RangeKey(rs.getString(1), rs.getLong(2)),
+                    new RangeAggregate(rs.getLong(3), rs.getLong(4), rs.getLong(5)));
+        }, bucketSize);
+        return result;
+    }
+
+    private Map<RangeKey, RangeAggregate> aggregateElasticsearch() throws IOException {
+        String indexName = elasticsearchOperations.getIndexCoordinatesFor(PostDocument.class).getIndexName();
+        SearchRequest request = SearchRequest.of(b -> b
+                .index(indexName)
+                .withJson(new StringReader(ES_AGGREGATE_JSON.formatted(MISSING_SOURCE, bucketSize))));
+        SearchResponse<Void> response = elasticsearchClient.search(request, Void.class);
+
+        Map<RangeKey, RangeAggregate> result = new HashMap<>();
+        for (StringTermsBucket sourceBucket : response.aggregations().get("by_source").sterms().buckets().array()) {
+            String source = MISSING_SOURCE.equals(sourceBucket.key().stringValue()) ? null : sourceBucket.key().stringValue();
+            for (HistogramBucket bucket : sourceBucket.aggregations().get("by_bucket").histogram().buckets().array()) {
+                Map<String, Aggregate> sums = bucket.aggregations();
+                result.put(new RangeKey(source, (long) bucket.key() / bucketSize),
+                        new RangeAggregate(bucket.docCount(),
+                                (long) sums.get("id_sum").sum().value(),
+                                (long) sums.get("hash_sum").sum().value()));
+            }
+        }
+        return result;
+    }
+
+    // source 별 id 구간 [bucket * bucketSize, (bucket + 1) * bucketSize)
+    private record RangeKey(String source, long bucket) {
+        long fromId(long bucketSize) {
+            return bucket * bucketSize;
+        }
+
+        long toId(long bucketSize) {
+            return (bucket + 1) * bucketSize - 1;
+        }
+    }
+
+    // 합계는 Elasticsearch 에서 double 로 계산되므로, bucket-size 가 10000 이면 CRC32(< 2^32) 합도 2^53 안에서 정확합니다.
+    private record RangeAggregate(long count, long idSum, long hashSum) {
+        static final RangeAggregate EMPTY = new RangeAggregate(0, 0, 0);
+    }
+}
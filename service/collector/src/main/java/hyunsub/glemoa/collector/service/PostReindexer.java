@@ -0,0 +1,323 @@
+package hyunsub.glemoa.collector.service;
+
+import hyunsub.glemoa.collector.document.PostDocument;
+import hyunsub.glemoa.collector.entity.Post;
+import hyunsub.glemoa.collector.entity.ReindexCheckpoint;
+import hyunsub.glemoa.collector.repository.PostRepository;
+import hyunsub.glemoa.collector.repository.ReindexCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * MySQL post 테이블 전체를 Elasticsearch 로 다시 색인하는 엔진.
+ * - OFFSET 페이지 대신 id > lastId 조건의 keyset 페이지로 읽으므로 테이블이 커져도 페이지당 비용이 일정합니다.
+ * - id 범위를 partitions 개로 나눠 가상 스레드에서 병렬로 읽고, PostIndexer 로 bulk 색인합니다.
+ * - 파티션마다 색인이 확인된 마지막 id 를 reindex_checkpoint 에 저장해 재시작하면 이어서 진행합니다.
+ * - 페이지마다 짧은 읽기 트랜잭션만 사용합니다. (긴 read-only 트랜잭션 없음)
+ * - max-docs-per-second 로 처리량을 제한하고, cancel() 로 언제든 멈출 수 있습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostReindexer {
+
+    private final PostRepository postRepository;
+    private final ReindexCheckpointRepository checkpointRepository;
+    private final PostIndexer postIndexer;
+
+    @Value("${glemoa.reindex.partitions:4}")
+    private int partitions;
+
+    @Value("${glemoa.reindex.page-size:1000}")
+    private int pageSize;
+
+    // 재색인이 실시간 CrawlerJob 색인을 밀어내지 않도록 초당 문서 수를 제한합니다. (0 이하면 제한 없음)
+    @Value("${glemoa.reindex.max-docs-per-second:2000}")
+    private int maxDocsPerSecond;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+    // 모든 파티션이 공유하는 처리량 제한: 다음 페이지를 읽어도 되는 시각(nanoTime)
+    private final ReentrantLock throttleLock = new ReentrantLock();
+    private long nextPermitNanos = 0;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long total;
+    private volatile int partitionCount;
+    private final AtomicInteger partitionsDone = new AtomicInteger();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    /**
+     * 전체 재색인을 실행합니다. 끝나지 않은 체크포인트가 있으면 그 지점부터 이어서 진행하고,
+     * 없으면 현재 id 범위로 파티션을 새로 나눕니다. 이미 실행 중이면 아무것도 하지 않습니다.
+     */
+    public ReindexProgress reindexAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("재색인이 이미 실행 중입니다.");
+            return progress();
+        }
+        try {
+            List<ReindexCheckpoint> checkpoints = loadOrPlanCheckpoints();
+            List<ReindexCheckpoint> pending = checkpoints.stream().filter(cp -> !cp.isDone()).collect(Collectors.toList());
+
+            cancelled.set(false);
+            processed.set(0);
+            failed.set(0);
+            total = postRepository.count();
+            partitionCount = checkpoints.size();
+            partitionsDone.set(checkpoints.size() - pending.size());
+            startedAt = Instant.now();
+            finishedAt = null;
+            log.info("Elasticsearch 재색인 시작. (전체 약 {}건, 파티션 {}개 중 {}개 남음)", total, partitionCount, pending.size());
+
+            try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("reindex-", 0).factory())) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (ReindexCheckpoint checkpoint : pending) {
+                    futures.add(executor.submit(() -> reindexPartition(checkpoint)));
+                }
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        // 한 파티션이 실패해도 다른 파티션은 계속 진행하고, 실패한 파티션은 다음 실행 때 체크포인트부터 재개합니다.
+                        log.error("재색인 파티션 실패: {}", e.getCause().getMessage(), e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("재색인이 중단되었습니다. 다음 실행 때 체크포인트부터 이어서 진행합니다.");
+            }
+
+            finishedAt = Instant.now();
+            if (cancelled.get()) {
+                log.info("재색인이 취소되었습니다. 다음 실행 때 체크포인트부터 이어서 진행합니다.");
+            }
+            ReindexProgress progress = progress();
+            log.info("Elasticsearch 재색인 종료. ({}건 처리, 실패 {}건, {}초, {} docs/sec)",
+                    progress.processed(), progress.failed(), progress.elapsedSeconds(), progress.docsPerSecond());
+            return progress;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 중단된 전체 재색인(끝나지 않은 체크포인트)이 있는지 확인합니다.
+     */
+    public boolean hasUnfinishedCheckpoints() {
+        return checkpointRepository.findAll().stream().anyMatch(cp -> !cp.isDone());
+    }
+
+    private List<ReindexCheckpoint> loadOrPlanCheckpoints() {
+        List<ReindexCheckpoint> existing = checkpointRepository.findAll();
+        if (existing.stream().anyMatch(cp -> !cp.isDone())) {
+            log.info("끝나지 않은 재색인 체크포인트를 발견했습니다. 이어서 진행합니다.");
+            existing.sort(Comparator.comparing(ReindexCheckpoint::getPartitionNo));
+            return existing;
+        }
+
+        checkpointRepository.deleteAllInBatch();
+        long minId = postRepository.findMinId().orElse(0L);
+        long maxId = postRepository.findMaxId().orElse(0L);
+        if (maxId == 0) {
+            return List.of();
+        }
+
+        // (minId - 1, maxId] 범위를 partitions 개의 연속 구간으로 나눕니다.
+        long width = Math.max(1, (maxId - minId + partitions) / partitions);
+        List<ReindexCheckpoint> planned = new ArrayList<>();
+        long startId = minId - 1;
+        for (int i = 0; i < partitions && startId < maxId; i++) {
+            long endId = i == partitions - 1 ? maxId : Math.min(maxId, startId + width);
+            planned.add(ReindexCheckpoint.builder()
+                    .partitionNo(i)
+                    .startId(startId)
+                    .endId(endId)
+                    .lastId(startId)
+                    .done(false)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+            startId = endId;
+        }
+        return checkpointRepository.saveAll(planned);
+    }
+
+    private void reindexPartition(ReindexCheckpoint checkpoint) {
+        log.info("재색인 파티션 #{} 시작 (id {} 초과 ~ {} 이하, {} 부터)",
+                checkpoint.getPartitionNo(), checkpoint.getStartId(), checkpoint.getEndId(), checkpoint.getLastId());
+        indexRange(postRepository::findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc,
+                checkpoint.getLastId(), checkpoint.getEndId(), this::recordProgress, lastId -> {
+            checkpoint.setLastId(lastId);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+        });
+        if (isStopping()) {
+            return;
+        }
+        checkpoint.setDone(true);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        log.info("재색인 파티션 #{} 완료. ({}/{})", checkpoint.getPartitionNo(), partitionsDone.incrementAndGet(), partitionCount);
+    }
+
+    /**
+     * 한 source 의 (afterId, toId] 범위만 다시 색인합니다. (정합성 검사에서 어긋난 구간 복구용)
+     * source 가 null 이면 source 가 비어 있는 게시글만 색인합니다.
+     * 체크포인트와 전체 재색인 진행률에는 반영하지 않으며, 색인된 문서 수를 반환합니다.
+     */
+    public long reindexRange(String source, long afterId, long toId) {
+        PageQuery query = source == null
+                ? postRepository::findBySourceIsNullAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc
+                : (after, to, limit) -> postRepository.findBySourceAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc(source, after, to, limit);
+        return indexRange(query, afterId, toId, docs -> { }, lastId -> { });
+    }
+
+    /**
+     * (afterId, toId] 범위를 query 로 keyset 페이지씩 읽어 색인합니다.
+     * 페이지를 넘긴 뒤 직전 페이지의 색인 결과를 기다리므로, 읽기와 색인이 한 페이지씩 겹쳐 진행됩니다.
+     * onPage 에는 페이지 문서 수가, onCheckpoint 에는 색인 결과가 확인된 마지막 id 가 전달됩니다.
+     */
+    private long indexRange(PageQuery query, long afterId, long toId, LongConsumer onPage, LongConsumer onCheckpoint) {
+        long lastId = afterId;
+        long indexed = 0;
+        CompletableFuture<PostIndexer.IndexResult> inFlight = null;
+        long inFlightLastId = afterId;
+
+        while (lastId < toId) {
+            if (isStopping()) {
+                break;
+            }
+            throttle(pageSize);
+            List<Post> page = query.find(lastId, toId, Limit.of(pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<PostDocument> documents = page.stream().map(PostDocument::from).collect(Collectors.toList());
+            CompletableFuture<PostIndexer.IndexResult> next = postIndexer.index(documents);
+            lastId = page.get(page.size() - 1).getId();
+
+            if (inFlight != null) {
+                awaitAndCount(inFlight);
+                onCheckpoint.accept(inFlightLastId);
+            }
+            inFlight = next;
+            inFlightLastId = lastId;
+            indexed += page.size();
+            onPage.accept(page.size());
+
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+
+        if (inFlight != null) {
+            awaitAndCount(inFlight);
+            onCheckpoint.accept(inFlightLastId);
+        }
+        return indexed;
+    }
+
+    private void recordProgress(long pageDocs) {
+        long done = processed.addAndGet(pageDocs);
+        if (done % (pageSize * 10L) < pageDocs) {
+            ReindexProgress progress = progress();
+            log.info("재색인 진행 중: {}/{}건 ({}%, {} docs/sec)", done, progress.total(), progress.percent(), progress.docsPerSecond());
+        }
+    }
+
+    /**
+     * 실행 중인 재색인을 멈춥니다. 각 파티션은 진행 중인 페이지까지만 처리하고 체크포인트를 남긴 뒤 종료합니다.
+     */
+    public void cancel() {
+        if (running.get() && cancelled.compareAndSet(false, true)) {
+            log.info("재색인 취소를 요청했습니다.");
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private boolean isStopping() {
+        return cancelled.get() || Thread.currentThread().isInterrupted();
+    }
+
+    // 페이지를 읽기 전에 호출해, 파티션 전체의 처리량이 max-docs-per-second 를 넘지 않도록 간격을 둡니다.
+    private void throttle(int docs) {
+        if (maxDocsPerSecond <= 0) {
+            return;
+        }
+        long waitNanos;
+        throttleLock.lock();
+        try {
+            long now = System.nanoTime();
+            long permitAt = Math.max(now, nextPermitNanos);
+            nextPermitNanos = permitAt + docs * 1_000_000_000L / maxDocsPerSecond;
+            waitNanos = permitAt - now;
+        } finally {
+            throttleLock.unlock();
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void awaitAndCount(CompletableFuture<PostIndexer.IndexResult> future) {
+        failed.addAndGet(future.join().failed());
+    }
+
+    public ReindexProgress progress() {
+        Instant start = startedAt;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long elapsedMillis = start == null ? 0 : Math.max(1, Duration.between(start, end).toMillis());
+        long done = processed.get();
+        return new ReindexProgress(
+                running.get(),
+                total,
+                done,
+                failed.get(),
+                partitionCount,
+                partitionsDone.get(),
+                elapsedMillis / 1000,
+                elapsedMillis == 0 ? 0 : done * 1000 / elapsedMillis,
+                total == 0 ? 0 : Math.min(100, done * 100 / total));
+    }
+
+    // id 가 afterId 초과 toId 이하인 게시글을 id 순으로 limit 건 읽습니다.
+    @FunctionalInterface
+    private interface PageQuery {
+        List<Post> find(Long afterId, Long toId, Limit limit);
+    }
+
+    public record ReindexProgress(boolean running, long total, long processed, long failed,
+                                  int partitions, int partitionsDone,
+                                  long elapsedSeconds, long docsPerSecond, long percent) {
+    }
+}
@@ -0,0 +1,23 @@
+package hyunsub.glemoa.collector.service;
+
+import hyunsub.glemoa.collector.entity.Post;
+
+import java.util.List;
+
+/**
+ * 크롤러가 목록 페이지 하나를 읽을 때마다 그 페이지의 게시글을 넘기는 곳.
+ * 받는 쪽(CrawlerJob)은 바로 저장하며, 저장에 실패하면 예외를 던집니다.
+ * 크롤러는 이 예외를 삼키지 말고 페이지 넘기기를 멈춰야 합니다.
+ */
+@FunctionalInterface
+public interface PostSink {
+
+    void accept(List<Post> page);
+
+    /**
+     * 범위 끝(CrawlScope.reached)에 닿았거나 목록이 끝나서 범위 전체를 훑었을 때 크롤러가 한 번 부릅니다.
+     * 변경 없음으로 멈추거나 요청이 실패해 중간에 멈췄다면 부르지 않으며, 받는 쪽은 범위를 다 보지 못한 것으로 처리합니다.
+     */
+    default void reachedEnd() {
+    }
+}
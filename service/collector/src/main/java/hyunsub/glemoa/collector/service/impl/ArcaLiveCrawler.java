@@ -1,14 +1,18 @@
 package hyunsub.glemoa.collector.service.impl;
 
+import hyunsub.glemoa.collector.common.WebDriverPool;
+import hyunsub.glemoa.collector.common.parse.CountParser;
+import hyunsub.glemoa.collector.common.parse.TimeParser;
 import hyunsub.glemoa.collector.entity.Post;
+import hyunsub.glemoa.collector.service.CrawlScope;
 import hyunsub.glemoa.collector.service.ICrawler;
+import hyunsub.glemoa.collector.service.PostSink;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.springframework.stereotype.Component;
 
 import java.time.*;
@@ -21,8 +25,12 @@ import java.util.regex.Pattern;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class ArcaLiveCrawler implements ICrawler {
 
+    private static final String USER_AGENT = "live.arca.android/1.0.0";
+    private final WebDriverPool webDriverPool;
+
 //    private final String url = "https://arca.live/b/live?p=1";
     private final String baseUrl = "https://arca.live/b/live?p=%d";
     private final Pattern articleNoPattern = Pattern.compile("/b/live/(\\d+)");
@@ -33,7 +41,7 @@ public class ArcaLiveCrawler implements ICrawler {
 //    }
 
     @Override
-    public List<Post> crawl(LocalDateTime until) {
+    public void crawl(CrawlScope scope, PostSink sink) {
         List<Post> posts = new ArrayList<>();
         // 🚨 삽입 위치: 여기에 ChromeDriver 버전 명시 코드를 추가합니다.
 //        WebDriverManager.chromedriver().browserVersion("104.0.5112.101").setup();
@@ -41,35 +49,16 @@ public class ArcaLiveCrawler implements ICrawler {
         int page = 1;
         boolean continueCrawling = true;
 
-        // WebDriverManager를 사용하지 않음
-        System.setProperty("webdriver.chrome.driver", "/usr/local/bin/chromedriver");
-
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--remote-allow-origins=*");
-        options.addArguments("user-agent=live.arca.android/1.0.0");
-
-        WebDriver driver = new ChromeDriver(options);
+        // 브라우저는 공용 WebDriver 풀에서 빌려 쓰고 반납합니다.
+        WebDriverPool.Lease lease = null;
 
         try {
+            lease = webDriverPool.borrow(USER_AGENT);
+            WebDriver driver = lease.driver();
 
             while (continueCrawling) {
-                // --- 페이지 요청 간 무작위 지연 시간 추가 ---
-                try {
-                    int randomDelay = (int) (Math.random() * 2000) + 1000; // 1초~3초 사이 지연
-                    double delaySeconds = randomDelay / 1000.0;
-                    log.info("페이지 요청 간 무작위 지연 시간 : " + delaySeconds + "ms");
-                    Thread.sleep(randomDelay);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                // ----------------------------------------------
-
                 String url = String.format(baseUrl, page);
-                driver.get(url);
+                lease.get(url);
 
                 // 공지사항을 제외한 일반 게시글 목록 선택
                 List<WebElement> postElements = driver.findElements(By.cssSelector("div.vrow.hybrid:not(.notice)"));
@@ -103,30 +92,14 @@ public class ArcaLiveCrawler implements ICrawler {
                         // 댓글 수 추출
                         int commentCount = 0;
                         try {
-                            String commentCountStr = postElement.findElement(By.cssSelector("span.comment-count")).getText().replaceAll("[^0-9]", "");
-                            if (!commentCountStr.isEmpty()) {
-                                commentCount = Integer.parseInt(commentCountStr);
-                            }
+                            commentCount = CountParser.parse(postElement.findElement(By.cssSelector("span.comment-count")).getText(), 0);
                         } catch (Exception e) {
                             // 댓글이 없으면 0으로 유지
                         }
 
                         // 조회 수, 추천 수 추출
-                        String viewCountStr = postElement.findElement(By.cssSelector("span.vcol.col-view")).getText().trim().replaceAll(",", "");
-                        int viewCount = 0;
-                        try {
-                            viewCount = Integer.parseInt(viewCountStr);
-                        } catch (NumberFormatException e) {
-                            log.warn("경고: 조회수 파싱 오류: " + viewCountStr);
-                        }
-
-                        String recoCountStr = postElement.findElement(By.cssSelector("span.vcol.col-rate")).getText().trim().replaceAll(",", "");
-                        int recommendationCount = 0;
-                        try {
-                            recommendationCount = Integer.parseInt(recoCountStr);
-                        } catch (NumberFormatException e) {
-                            log.warn("경고: 추천수 파싱 오류: " + recoCountStr);
-                        }
+                        int viewCount = CountParser.parse(postElement.findElement(By.cssSelector("span.vcol.col-view")).getText(), 0);
+                        int recommendationCount = CountParser.parse(postElement.findElement(By.cssSelector("span.vcol.col-rate")).getText(), 0);
 
                         // 작성 시간 추출 (datetime 속성을 우선적으로 사용)
                         LocalDateTime createdAt;
@@ -136,13 +109,9 @@ public class ArcaLiveCrawler implements ICrawler {
 //                        } catch (Exception dateEx) {
                             // datetime 속성이 없거나 파싱 실패 시, 태그의 텍스트를 파싱
                             String timeStr = postElement.findElement(By.cssSelector("span.vcol.col-time")).getText().trim();
-                            if (timeStr.contains("시간전")) {
-                                int hoursAgo = Integer.parseInt(timeStr.replaceAll("[^0-9]", ""));
-                                createdAt = LocalDateTime.now().minusHours(hoursAgo);
-                            } else if (timeStr.contains("분전")) {
-                                int minutesAgo = Integer.parseInt(timeStr.replaceAll("[^0-9]", ""));
-                                createdAt = LocalDateTime.now().minusMinutes(minutesAgo);
-                            } else  { // MM-dd 형식 처리
+                            // "N시간전" / "N분전" 같은 상대 시간
+                            createdAt = TimeParser.parseRelative(timeStr, LocalDateTime.now());
+                            if (createdAt == null) { // MM-dd 형식 처리
                                 String dateTimeAttr = postElement.findElement(By.cssSelector("time[datetime]")).getAttribute("datetime");
                                 createdAt = ZonedDateTime.parse(dateTimeAttr).toLocalDateTime();
 //                                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd");
@@ -166,8 +135,8 @@ public class ArcaLiveCrawler implements ICrawler {
 //                            }
 //                        }
 
-                        // ✨ 게시글 날짜가 목표 날짜보다 이전이면 중단
-                        if (createdAt.isBefore(until) || page > 100) {
+                        // ✨ 게시글 날짜가 목표 날짜보다 이전이거나, 증분 크롤링에서 이미 저장된 번호에 도달하면 중단
+                        if (scope.reached(sourceId, createdAt) || page > 100) {
                             continueCrawling = false;
                             break;
                         }
@@ -192,18 +161,28 @@ public class ArcaLiveCrawler implements ICrawler {
                     }
                 }
 
+                // 페이지 단위로 바로 넘겨 저장합니다.
+                sink.accept(posts);
+                posts = new ArrayList<>();
+
                 if (continueCrawling) {
                     page++;
                 }
             }
+            // 100페이지 제한으로 멈췄다면 범위 끝까지 보지 못한 것입니다.
+            if (page <= 100) {
+                sink.reachedEnd();
+            }
         } catch (Exception e) {
             log.warn("크롤링 중 오류가 발생했습니다: " + e.getMessage());
             e.printStackTrace();
+            if (lease != null) {
+                lease.invalidate();
+            }
         } finally {
-            if (driver != null) {
-                driver.quit();
+            if (lease != null) {
+                lease.close();
             }
         }
-        return posts;
     }
 }
\ No newline at end of file
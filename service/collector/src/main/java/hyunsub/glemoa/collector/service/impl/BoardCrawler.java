@@ -0,0 +1,106 @@
+package hyunsub.glemoa.collector.service.impl;
+
+import hyunsub.glemoa.collector.common.board.CompiledBoard;
+import hyunsub.glemoa.collector.common.fetch.PageFetcher;
+import hyunsub.glemoa.collector.common.fetch.PagePrefetcher;
+import hyunsub.glemoa.collector.entity.Post;
+import hyunsub.glemoa.collector.service.CrawlScope;
+import hyunsub.glemoa.collector.service.ICrawler;
+import hyunsub.glemoa.collector.service.PostSink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 설정(BoardSpec)만으로 동작하는 목록 페이지 크롤러. Bean 이 아니라 BoardCrawlerRegistry 가 게시판마다 하나씩 만듭니다.
+ * 페이지를 넘기며 게시글 줄을 CompiledBoard 로 읽고, 범위(CrawlScope) 끝에 닿거나 게시글이 없으면 멈춥니다.
+ * 전체 구간을 훑을 때는 현재 페이지를 파싱/저장하는 동안 다음 페이지를 미리 요청합니다. (PagePrefetcher, 결과는 페이지 순서대로)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BoardCrawler implements ICrawler {
+
+    private final PageFetcher pageFetcher;
+    private final CompiledBoard board;
+
+    @Override
+    public String source() {
+        return board.source();
+    }
+
+    @Override
+    public void crawl(CrawlScope scope, PostSink sink) {
+        // 증분 크롤링은 대개 첫 페이지에서 멈추므로, 미리 요청하지 않고 한 페이지씩 가져옵니다.
+        int prefetchDepth = scope.isIncremental() ? 0 : pageFetcher.prefetchDepth();
+        // 변경 없음으로 멈춰도 되는 건 증분 크롤링뿐입니다. (첫 페이지가 그대로여도 아래 페이지의 카운터는 바뀌었을 수 있으므로,
+        // 전체 구간/카운터 갱신 크롤링은 조건부 요청 없이 범위 끝까지 파싱합니다.)
+        boolean revalidate = scope.isIncremental();
+        try (PagePrefetcher pages = pageFetcher.prefetch(board::pageUrl, board.firstPage(), prefetchDepth, revalidate)) {
+            crawl(scope, sink, pages);
+        }
+    }
+
+    // 범위 끝에 닿거나 더 읽을 페이지가 없으면 반환하고, 미리 요청해 둔 나머지 페이지는 호출한 쪽에서 취소합니다.
+    private void crawl(CrawlScope scope, PostSink sink, PagePrefetcher pages) {
+        for (int page = board.firstPage(); ; page++) {
+            Document doc;
+            try {
+                PageFetcher.FetchResult fetched = pages.next();
+                if (fetched.notModified()) {
+                    // (증분 크롤링만) 이전에 가져온 내용과 같으면 파싱하지 않고, 이후 페이지도 바뀌지 않았다고 보고 종료합니다.
+                    // (이후 페이지를 실제로 보지 않았으므로 범위 끝에 닿은 것으로 알리지 않습니다.)
+                    log.info("[{}] {}페이지 변경 없음. 크롤링을 종료합니다.", board.name(), page);
+                    return;
+                }
+                doc = fetched.document();
+            } catch (IOException e) {
+                log.error("[{}] {}페이지 크롤링 중 오류가 발생했습니다: {}", board.name(), page, e.getMessage());
+                return;
+            }
+
+            Elements rows = board.rows(doc);
+            if (rows.isEmpty() || board.isLastPage(doc)) {
+                log.info("[{}] {}페이지에 더 이상 게시글이 없습니다. 크롤링을 종료합니다.", board.name(), page);
+                sink.reachedEnd();
+                return;
+            }
+            log.info("[{}] {}페이지 크롤링 결과: {}", board.name(), page, rows.size());
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Post> posts = new ArrayList<>(rows.size());
+            boolean reached = false;
+            for (Element row : rows) {
+                Post post;
+                try {
+                    post = board.extract(row, now);
+                } catch (RuntimeException e) {
+                    log.warn("[{}] 개별 게시글 파싱 중 오류가 발생했습니다: {}", board.name(), e.getMessage());
+                    continue;
+                }
+                if (post == null) {
+                    continue;
+                }
+                // 게시글 날짜가 목표 날짜보다 이전이거나, 증분 크롤링에서 이미 저장된 번호에 도달하면 중단
+                if (scope.reached(post.getSourceId(), post.getCreatedAt())) {
+                    reached = true;
+                    break;
+                }
+                posts.add(post);
+            }
+
+            // 페이지 단위로 바로 넘겨 저장합니다.
+            sink.accept(posts);
+            if (reached) {
+                sink.reachedEnd();
+                return;
+            }
+        }
+    }
+}
@@ -1,85 +1,54 @@
 package hyunsub.glemoa.collector.service.impl;
 
+import hyunsub.glemoa.collector.common.WebDriverPool;
+import hyunsub.glemoa.collector.common.parse.CountParser;
+import hyunsub.glemoa.collector.common.parse.TimeParser;
 import hyunsub.glemoa.collector.entity.Post;
+import hyunsub.glemoa.collector.service.CrawlScope;
 import hyunsub.glemoa.collector.service.ICrawler;
+import hyunsub.glemoa.collector.service.PostSink;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class ClienCrawler implements ICrawler {
 
     private final String baseUrl = "https://clien.net/service/board/park?&od=T31&category=0&po=%d";
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    // [추가] FmkoreaCrawler에서 가져온 User-Agent 및 Random 객체
-    private static final List<String> USER_AGENTS = List.of(
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/125.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:126.0) Gecko/20100101 Firefox/126.0",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/125.0.0.0 Safari/537.36"
-    );
-    private static final Random RANDOM = new Random();
+    private final WebDriverPool webDriverPool;
 
     @Override
-    public List<Post> crawl(LocalDateTime until) {
+    public void crawl(CrawlScope scope, PostSink sink) {
         List<Post> posts = new ArrayList<>();
         int page = 0;
         boolean continueCrawling = true;
 
-        // [수정] WebDriverManager를 사용하지 않고 시스템 속성 설정
-        System.setProperty("webdriver.chrome.driver", "/usr/local/bin/chromedriver");
-
-        // [수정] Chrome 옵션 설정
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--remote-allow-origins=*");
-        // 무작위 User-Agent 설정
-        options.addArguments("user-agent=" + USER_AGENTS.get(RANDOM.nextInt(USER_AGENTS.size())));
-
-        WebDriver driver = null;
+        // 브라우저는 공용 WebDriver 풀에서 빌려 쓰고 반납합니다. (User-Agent는 빌릴 때마다 무작위로 바뀜)
+        WebDriverPool.Lease lease = null;
 
         try {
-            driver = new ChromeDriver(options);
-            // 페이지 로드를 기다리기 위한 암시적 대기 설정 (FmkoreaCrawler 참고)
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            lease = webDriverPool.borrow();
 
             while (continueCrawling) {
-                // --- 페이지 요청 간 무작위 지연 시간 추가 (기존 로직 유지) ---
-                try {
-                    int randomDelay = (int) (Math.random() * 2000) + 1000; // 1초~3초 사이 지연으로 변경
-                    double delaySeconds = randomDelay / 1000.0;
-                    log.info("페이지 요청 간 무작위 지연 시간 : " + delaySeconds + "s");
-                    Thread.sleep(randomDelay);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                // ----------------------------------------------
-
                 String url = String.format(baseUrl, page);
                 log.info("[ClienCrawler] 페이지 방문 시도: {}", url);
-                driver.get(url); // [수정] WebDriver로 페이지 로드
+                lease.get(url); // [수정] WebDriver로 페이지 로드
 
                 // [수정] WebDriver가 로드한 페이지 소스를 Jsoup Document로 파싱
-                Document doc = Jsoup.parse(driver.getPageSource());
+                Document doc = Jsoup.parse(lease.driver().getPageSource());
 
                 Elements postElements = doc.select("div.list_item.symph_row[data-role=list-row]");
 
@@ -109,36 +78,21 @@ public class ClienCrawler implements ICrawler {
 
                         // 댓글 수 추출
                         Element commentCountElement = postElement.selectFirst("a.list_reply > span.rSymph05");
-                        int commentCount = Optional.ofNullable(commentCountElement)
-                                .map(Element::text)
-                                .map(Integer::parseInt)
-                                .orElse(0);
-
-                        // 조회 수 추출
-                        String viewCountStr = postElement.selectFirst("span.hit").text().replaceAll(",", "");
-                        int viewCount = 0;
-                        if (viewCountStr.endsWith("k")) {
-                            double parsedValue = Double.parseDouble(viewCountStr.replace("k", "").trim());
-                            viewCount = (int) (parsedValue * 1000);
-                        } else {
-                            viewCount = Integer.parseInt(viewCountStr);
-                        }
+                        int commentCount = commentCountElement == null ? 0 : CountParser.parse(commentCountElement.text(), 0);
+
+                        // 조회 수 추출 ("1.2k" 형식 포함)
+                        int viewCount = CountParser.parse(postElement.selectFirst("span.hit").text(), 0);
 
-                        // 추천수 추출
+                        // 추천수 추출 ("99+" 형식 포함)
                         Element recommendationElement = postElement.selectFirst("div.list_symph > span");
-                        Integer recommendationCount = Optional.ofNullable(recommendationElement)
-                                .map(Element::text)
-                                .map(s -> s.replaceAll("[^0-9]", "")) // ✨ FIX: 숫자 외 문자(예: '99+') 제거
-                                .filter(s -> !s.isEmpty()) // 빈 문자열 파싱 방지
-                                .map(Integer::parseInt)
-                                .orElse(0);
+                        int recommendationCount = recommendationElement == null ? 0 : CountParser.parse(recommendationElement.text(), 0);
 
                         // 날짜/시간 추출
                         String dateString = postElement.selectFirst("span.time.popover > span.timestamp").text();
-                        LocalDateTime createdAt = LocalDateTime.parse(dateString, formatter);
+                        LocalDateTime createdAt = LocalDateTime.parse(dateString, TimeParser.YYYY_MM_DD_HH_MM_SS);
 
-                        // 💡 수정된 로직: 목표 날짜 이후의 게시글만 추가
-                        if (!createdAt.isBefore(until)) {
+                        // 💡 수정된 로직: 목표 날짜 이후이고 아직 저장되지 않은 번호의 게시글만 추가
+                        if (!scope.reached(sourceId, createdAt)) {
                             Post post = Post.builder()
                                     .sourceId(sourceId)
                                     .title(title)
@@ -164,20 +118,28 @@ public class ClienCrawler implements ICrawler {
                     }
                 }
 
+                // 페이지 단위로 바로 넘겨 저장합니다.
+                sink.accept(posts);
+                posts = new ArrayList<>();
+
                 // 페이지 증가는 루프의 끝에서 처리
+
                 if (continueCrawling) {
                     page++;
                 }
             }
+            // 범위 끝에 닿았거나 더 이상 게시글이 없어 멈춤 (예외로 멈추면 아래 catch 로 가므로 알리지 않습니다.)
+            sink.reachedEnd();
         } catch (Exception e) {
             log.error("[ClienCrawler] 크롤링 작업 중 오류 발생: {}", e.getMessage(), e);
+            if (lease != null) {
+                lease.invalidate();
+            }
         } finally {
-            // [수정] WebDriver 종료
-            if (driver != null) {
-                driver.quit();
-                log.info("[ClienCrawler] WebDriver를 종료합니다.");
+            // WebDriver를 풀에 반납
+            if (lease != null) {
+                lease.close();
             }
         }
-        return posts;
     }
 }
\ No newline at end of file
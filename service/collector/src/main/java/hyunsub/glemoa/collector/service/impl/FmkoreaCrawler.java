@@ -1,63 +1,45 @@
 package hyunsub.glemoa.collector.service.impl;
 
+import hyunsub.glemoa.collector.common.WebDriverPool;
+import hyunsub.glemoa.collector.common.parse.CountParser;
+import hyunsub.glemoa.collector.common.parse.TimeParser;
 import hyunsub.glemoa.collector.entity.Post;
+import hyunsub.glemoa.collector.service.CrawlScope;
 import hyunsub.glemoa.collector.service.ICrawler;
+import hyunsub.glemoa.collector.service.PostSink;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class FmkoreaCrawler implements ICrawler {
 
-    private static final List<String> USER_AGENTS = List.of(
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/125.0.0.0 Safari/537.36",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:126.0) Gecko/20100101 Firefox/126.0",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/125.0.0.0 Safari/537.36"
-    );
-    private static final Random RANDOM = new Random();
+    private final WebDriverPool webDriverPool;
     private final String baseUrl = "https://www.fmkorea.com/index.php?mid=best&listStyle=list&page=%d";
+    private final Pattern documentSrlPattern = Pattern.compile("document_srl=(\\d+)");
 
     @Override
-    public List<Post> crawl(LocalDateTime until) {
+    public void crawl(CrawlScope scope, PostSink sink) {
         List<Post> posts = new ArrayList<>();
-        // WebDriverManager를 사용하여 ChromeDriver 자동 설정
-//        WebDriverManager.chromedriver().setup();
-
-        // 🚨 삽입 위치: 여기에 ChromeDriver 버전 명시 코드를 추가합니다.
-//        WebDriverManager.chromedriver().browserVersion("104.0.5112.101").setup();
-
-        // WebDriverManager를 사용하지 않음
-        System.setProperty("webdriver.chrome.driver", "/usr/local/bin/chromedriver");
-
-        // Chrome 옵션 설정
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless"); // [디버깅] 브라우저 창을 띄우지 않는 헤드리스 모드
-        options.addArguments("--disable-gpu"); // GPU 가속 비활성화 (일부 시스템에서 필요)
-        options.addArguments("--no-sandbox"); // Sandbox 모드 비활성화 (Linux에서 필요할 수 있음)
-        options.addArguments("--disable-dev-shm-usage"); // /dev/shm 사용 비활성화 (Linux에서 필요할 수 있음)
-        options.addArguments("--remote-allow-origins=*"); // [추가] 최근 Chrome 정책 변경으로 인한 연결 문제 해결
-        options.addArguments("user-agent=" + USER_AGENTS.get(RANDOM.nextInt(USER_AGENTS.size())));
-
-        WebDriver driver = new ChromeDriver(options);
+        // 브라우저는 공용 WebDriver 풀에서 빌려 쓰고 반납합니다. (User-Agent는 빌릴 때마다 무작위로 바뀜)
+        WebDriverPool.Lease lease = null;
 
         try {
+            lease = webDriverPool.borrow();
 
             int page = 1;
             boolean continueCrawling = true;
@@ -65,12 +47,9 @@ public class FmkoreaCrawler implements ICrawler {
             while (continueCrawling) {
                 String url = String.format(baseUrl, page);
                 log.info("[FmkoreaCrawler] 페이지 방문 시도: {}", url);
-                driver.get(url);
-
-                // 페이지 로드를 기다리기 위한 암시적 대기 설정
-                driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+                lease.get(url);
 
-                Document doc = Jsoup.parse(driver.getPageSource());
+                Document doc = Jsoup.parse(lease.driver().getPageSource());
                 Elements postElements = doc.select("table.bd_lst tbody tr:not(.notice)");
 
                 log.info("Fmkorea " + page + "페이지 크롤링 결과: " + postElements.size());
@@ -85,8 +64,12 @@ public class FmkoreaCrawler implements ICrawler {
                 for (Element postElement : postElements) {
                     try {
                         String linkHref = postElement.selectFirst("a.hx").attr("href");
-                        String sourceIdElement = linkHref.replaceAll(".*document_srl=(\\d+).*", "$1");
-                        Long sourceId = Long.parseLong(sourceIdElement);
+                        Matcher matcher = documentSrlPattern.matcher(linkHref);
+                        if (!matcher.find()) {
+                            log.warn("경고: 링크에서 게시글 번호(document_srl)를 찾을 수 없습니다. 건너뜁니다. Link: " + linkHref);
+                            continue;
+                        }
+                        Long sourceId = Long.parseLong(matcher.group(1));
 
                         String title = postElement.selectFirst("a.hx").text();
                         String link = "https://www.fmkorea.com" + linkHref;
@@ -99,12 +82,7 @@ public class FmkoreaCrawler implements ICrawler {
                         LocalDateTime createdAt;
 
                         if (timeStr.contains(":")) { // HH:mm 형식
-                            LocalTime postTime = LocalTime.parse(timeStr, DateTimeFormatter.ofPattern("HH:mm"));
-                            LocalDate postDate = LocalDate.now();
-                            if (postTime.isAfter(LocalTime.now())) {
-                                postDate = postDate.minusDays(1);
-                            }
-                            createdAt = LocalDateTime.of(postDate, postTime);
+                            createdAt = TimeParser.atToday(LocalTime.parse(timeStr, TimeParser.HH_MM), LocalDateTime.now());
                         } else { // yy.MM.dd or yyyy.MM.dd format
                             String[] dateParts = timeStr.split("\\.");
                             int year = Integer.parseInt(dateParts[0]);
@@ -116,21 +94,21 @@ public class FmkoreaCrawler implements ICrawler {
                             createdAt = LocalDateTime.of(year, month, day, 0, 0);
                         }
 
-                        if (until == null || !createdAt.isBefore(until)) {
+                        if (!scope.reached(sourceId, createdAt)) {
                             Post post = Post.builder()
                                     .sourceId(sourceId)
                                     .title(title)
                                     .link(link)
                                     .author(author)
-                                    .commentCount(Integer.parseInt(commentCountStr))
-                                    .viewCount(Integer.parseInt(viewCountStr.replaceAll(",", "")))
-                                    .recommendationCount(Integer.parseInt(recommendationCountStr.replaceAll(",", "")))
+                                    .commentCount(CountParser.parse(commentCountStr, 0))
+                                    .viewCount(CountParser.parse(viewCountStr, 0))
+                                    .recommendationCount(CountParser.parse(recommendationCountStr, 0))
                                     .createdAt(createdAt)
                                     .source("fmkorea")
                                     .build();
                             posts.add(post);
                         } else {
-                            log.info("[FmkoreaCrawler] 목표 날짜({}) 이전 게시글({})을 발견하여 크롤링을 중단합니다.", until, createdAt);
+                            log.info("[FmkoreaCrawler] 수집 범위 밖의 게시글({}, {})을 발견하여 크롤링을 중단합니다. (목표 날짜 {})", sourceId, createdAt, scope.until());
                             continueCrawling = false;
                             break;
                         }
@@ -139,27 +117,26 @@ public class FmkoreaCrawler implements ICrawler {
                     }
                 }
 
+                // 페이지 단위로 바로 넘겨 저장합니다.
+                sink.accept(posts);
+                posts = new ArrayList<>();
+
                 if (continueCrawling) {
                     page++;
-                    // 페이지 요청 간 무작위 지연
-                    try {
-                        Thread.sleep((long) (Math.random() * 1000) + 1000);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        log.error("[FmkoreaCrawler] 지연 중 스레드 인터럽트 발생", e);
-                        continueCrawling = false;
-                    }
                 }
             }
+            // 범위 끝에 닿았거나 더 이상 게시글이 없어 멈춤 (예외로 멈추면 아래 catch 로 가므로 알리지 않습니다.)
+            sink.reachedEnd();
         } catch (Exception e) {
             log.error("[FmkoreaCrawler] 크롤링 작업 중 심각한 오류 발생", e);
+            if (lease != null) {
+                lease.invalidate();
+            }
         } finally {
-            // WebDriver 종료
-            if (driver != null) {
-                driver.quit();
-                log.info("[FmkoreaCrawler] WebDriver를 종료합니다.");
+            // WebDriver를 풀에 반납
+            if (lease != null) {
+                lease.close();
             }
         }
-        return posts;
     }
 }
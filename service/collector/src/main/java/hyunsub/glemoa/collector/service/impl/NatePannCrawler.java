@@ -1,29 +1,48 @@
 package hyunsub.glemoa.collector.service.impl;
 
+import hyunsub.glemoa.collector.common.fetch.PageFetcher;
+import hyunsub.glemoa.collector.common.parse.CountParser;
 import hyunsub.glemoa.collector.entity.Post;
+import hyunsub.glemoa.collector.service.CrawlScope;
 import hyunsub.glemoa.collector.service.ICrawler;
+import hyunsub.glemoa.collector.service.PostSink;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
-import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class NatePannCrawler implements ICrawler {
 
+    private static final int PAGES_PER_DAY = 2;
+
+    private final PageFetcher pageFetcher;
+
+    @Value("${glemoa.natepann.parallelism:4}")
+    private int parallelism;
+
 //    private final String baseUrl = "https://pann.nate.com/talk/ranking?rankingType=total&page=%d";
 //    private final String basePannUrl = "https://pann.nate.com";
 //    private final Pattern articleNoPattern = Pattern.compile("/talk/(\\d+)");
@@ -34,7 +53,7 @@ public class NatePannCrawler implements ICrawler {
 ////    }
 //
 //    @Override
-//    public List<Post> crawl(LocalDateTime until) {
+//    public List<Post> crawl(CrawlScope scope) {
 //        List<Post> posts = new ArrayList<>();
 //        int page = 1;
 //        boolean continueCrawling = true;
@@ -141,48 +160,99 @@ private final String todayUrl = "https://pann.nate.com/talk/ranking?rankingType=
     private final String basePannUrl = "https://pann.nate.com";
     private final Pattern articleNoPattern = Pattern.compile("/talk/(\\d+)");
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyyMMdd");
-    private final Random random = new Random();
 
     @Override
-    public List<Post> crawl(LocalDateTime until) {
-        List<Post> allPosts = new ArrayList<>();
+    public void crawl(CrawlScope scope, PostSink sink) {
         LocalDate currentDate = LocalDate.now();
-        LocalDate untilDate = until.toLocalDate();
+        LocalDate untilDate = scope.until().toLocalDate();
 
         // 현재 날짜부터 지정된 until 날짜까지 하루씩 역순으로 크롤링
+        List<LocalDate> dates = new ArrayList<>();
         while (!currentDate.isBefore(untilDate)) {
-            // 각 날짜별로 3페이지씩 크롤링 (페이지 수는 필요에 따라 조정 가능)
-            allPosts.addAll(crawlByDate(currentDate, 2));
+            dates.add(currentDate);
             currentDate = currentDate.minusDays(1);
         }
-        return allPosts;
+
+        // 날짜마다 정해진 페이지 수만 훑으므로, 요청이 실패한 날짜가 없으면 범위 전체를 본 것입니다.
+        // (변경 없음인 날짜는 이전 크롤링에서 같은 내용을 읽었으므로 본 것으로 칩니다.)
+        AtomicBoolean failed = new AtomicBoolean();
+        if (parallelism <= 1 || dates.size() <= 1) {
+            for (LocalDate date : dates) {
+                emit(crawlByDate(date, PAGES_PER_DAY, failed), sink);
+            }
+        } else {
+            crawlInParallel(dates, sink, failed);
+        }
+        if (!failed.get()) {
+            sink.reachedEnd();
+        }
+    }
+
+    /**
+     * 초기/재시작 크롤링처럼 여러 날짜를 훑을 때는 날짜별로 나눠 parallelism 개 작업이 동시에 가져옵니다.
+     * 모든 요청은 PageFetcher 의 pann.nate.com 제한(HostRateLimiter, 호스트별 동시 요청 수)을 함께 쓰므로 허용 속도를 넘지 않고,
+     * 응답을 기다리는 시간만 겹쳐서 줄어듭니다.
+     * 결과는 날짜 순서대로 호출한 스레드에서 sink 에 넘기므로, 순차 크롤링과 같은 순서로 저장됩니다.
+     * 먼저 끝난 날짜는 최대 parallelism * 2 개까지만 들고 기다립니다.
+     */
+    private void crawlInParallel(List<LocalDate> dates, PostSink sink, AtomicBoolean failed) {
+        log.info("NatePann {}일치를 {}개 작업으로 나눠 크롤링합니다.", dates.size(), parallelism);
+        Deque<Future<List<List<Post>>>> window = new ArrayDeque<>();
+        Iterator<LocalDate> remaining = dates.iterator();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("natepann-", 0).factory())) {
+            try {
+                while (remaining.hasNext() || !window.isEmpty()) {
+                    while (remaining.hasNext() && window.size() < parallelism * 2) {
+                        LocalDate date = remaining.next();
+                        window.add(executor.submit(() -> crawlByDate(date, PAGES_PER_DAY, failed)));
+                    }
+                    emit(await(window.poll()), sink);
+                }
+            } finally {
+                // 저장 실패 등으로 중단되면 남은 날짜 요청을 취소합니다.
+                window.forEach(future -> future.cancel(true));
+            }
+        }
     }
 
-    // 날짜와 페이지 수를 받아 크롤링을 수행하는 핵심 메서드
-    private List<Post> crawlByDate(LocalDate targetDate, int pageCount) {
-        List<Post> posts = new ArrayList<>();
+    private static List<List<Post>> await(Future<List<List<Post>>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("NatePann 크롤링 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("NatePann 날짜별 크롤링 실패", e.getCause());
+        }
+    }
+
+    private static void emit(List<List<Post>> pages, PostSink sink) {
+        for (List<Post> page : pages) {
+            sink.accept(page);
+        }
+    }
+
+    // 날짜와 페이지 수를 받아 크롤링을 수행하는 핵심 메서드 (요청이 실패하면 failed 에 표시합니다.)
+    private List<List<Post>> crawlByDate(LocalDate targetDate, int pageCount, AtomicBoolean failed) {
+        List<List<Post>> pages = new ArrayList<>();
         String targetDateStr = targetDate.format(dateFormatter);
         boolean isToday = targetDate.isEqual(LocalDate.now());
 
         log.info("NatePann " + (isToday ? "오늘" : targetDateStr) + " 크롤링을 시작합니다.");
 
         for (int page = 1; page <= pageCount; page++) {
-            try {
-                int randomDelay = random.nextInt(2000) + 1000;
-                double delaySeconds = randomDelay / 1000.0;
-                log.info("페이지 요청 간 무작위 지연 시간 : " + delaySeconds + " s");
-                Thread.sleep(randomDelay);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return posts;
-            }
-
+            List<Post> posts = new ArrayList<>();
             String url = isToday ? String.format(todayUrl, page) : String.format(dailyUrl, targetDateStr, page);
 
             try {
-                Document doc = Jsoup.connect(url)
-                        .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
-                        .get();
+                PageFetcher.FetchResult fetched = pageFetcher.fetch(url);
+                if (fetched.notModified()) {
+                    // 이전에 가져온 내용과 같으면 파싱하지 않고, 이후 페이지도 바뀌지 않았다고 보고 종료합니다.
+                    log.info("NatePann " + page + "페이지 변경 없음. 크롤링을 종료합니다.");
+                    break;
+                }
+                Document doc = fetched.document();
 
                 Elements postElements = doc.select("ul.post_wrap li");
                 if (postElements.isEmpty()) {
@@ -213,28 +283,9 @@ private final String todayUrl = "https://pann.nate.com/talk/ranking?rankingType=
                         }
 
                         Element commentCountElement = postElement.selectFirst("dt span.reple-num");
-                        int commentCount = Optional.ofNullable(commentCountElement)
-                                .map(Element::text)
-                                .map(s -> s.replaceAll("[^0-9]", ""))
-                                .filter(s -> !s.isEmpty())
-                                .map(Integer::parseInt)
-                                .orElse(0);
-
-                        String viewCountStr = postElement.selectFirst("dd.info span.count").text().replaceAll("[^0-9]", "");
-                        int viewCount = 0;
-                        try {
-                            viewCount = Integer.parseInt(viewCountStr.trim());
-                        } catch (NumberFormatException e) {
-                            log.warn("경고: 조회수 파싱 오류: " + viewCountStr);
-                        }
-
-                        String recoCountStr = postElement.selectFirst("dd.info span.rcm").text().replaceAll("[^0-9]", "");
-                        int recommendationCount = 0;
-                        try {
-                            recommendationCount = Integer.parseInt(recoCountStr.trim());
-                        } catch (NumberFormatException e) {
-                            log.warn("경고: 추천수 파싱 오류: " + recoCountStr);
-                        }
+                        int commentCount = commentCountElement == null ? 0 : CountParser.parse(commentCountElement.text(), 0);
+                        int viewCount = CountParser.parse(postElement.selectFirst("dd.info span.count").text(), 0);
+                        int recommendationCount = CountParser.parse(postElement.selectFirst("dd.info span.rcm").text(), 0);
 
                         Post post = Post.builder()
                                 .sourceId(sourceId)
@@ -256,9 +307,11 @@ private final String todayUrl = "https://pann.nate.com/talk/ranking?rankingType=
             } catch (IOException e) {
                 log.error("크롤링 중 오류가 발생했습니다: " + e.getMessage());
                 e.printStackTrace();
+                failed.set(true);
                 break;
             }
+            pages.add(posts);
         }
-        return posts;
+        return pages;
     }
 }
\ No newline at end of file
@@ -1,164 +0,0 @@
-package hyunsub.glemoa.collector.service.impl;
-
-import hyunsub.glemoa.collector.entity.Post;
-import hyunsub.glemoa.collector.service.ICrawler;
-import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
-import org.springframework.stereotype.Component;
-
-import java.io.IOException;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.MonthDay;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
-@Slf4j
-@Component
-public class TheqooCrawler implements ICrawler {
-
-    private final String baseUrl = "https://theqoo.net/hot?page=%d";
-
-//    @Override
-//    public List<Post> crawl() {
-//        return crawl(1);
-//    }
-
-    @Override
-    public List<Post> crawl(LocalDateTime until) {
-        List<Post> posts = new ArrayList<>();
-        int page = 1;
-        boolean continueCrawling = true;
-
-//      for (int page = 1; page <= pageCount; page++) {
-        while (continueCrawling) {
-            // --- 페이지 요청 간 무작위 지연 시간 추가 ---
-            try {
-                int randomDelay = (int) (Math.random() * 2000) + 1000; // 1초~3초 사이 지연
-                double delaySeconds = randomDelay / 1000.0;
-                log.info("페이지 요청 간 무작위 지연 시간 : " + delaySeconds + "ms");
-                Thread.sleep(randomDelay);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            // ----------------------------------------------
-
-            String url = String.format(baseUrl, page);
-            try {
-                Document doc = Jsoup.connect(url)
-                        .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
-                        .get();
-
-                // 공지사항을 제외한 일반 게시글 목록 선택
-                // notice 클래스와 notice_expand 클래스 두 가지 모두를 제외
-                Elements postElements = doc.select("table.theqoo_board_table tbody tr:not(.notice):not(.notice_expand)");
-
-                log.info("Theqoo 크롤링 결과: " + postElements.size());
-
-                if(postElements.isEmpty()) {
-                    break;
-                }
-
-                for (Element postElement : postElements) {
-                    try {
-                        // postElement의 모든 td 요소를 순서대로 가져옴
-                        Elements tdElements = postElement.select("td");
-
-                        // sourceId (게시글 고유 번호) 추출
-                        String sourceIdStr = tdElements.get(0).text().trim();
-                        Long sourceId = null;
-                        if (!sourceIdStr.isEmpty()) {
-                            try {
-                                sourceId = Long.parseLong(sourceIdStr);
-                            } catch (NumberFormatException e) {
-                                log.warn("게시글 번호 파싱 오류: {}. 이 행은 건너뜁니다.", sourceIdStr);
-                                continue;
-                            }
-                        }
-
-                        // 제목, 링크 추출
-                        Element titleElement = tdElements.get(2).selectFirst("a");
-                        if (titleElement == null) {
-                            log.warn("경고: 제목 엘리먼트가 없는 게시글이 있습니다. 건너뜁니다.");
-                            continue;
-                        }
-                        String title = titleElement.text();
-                        String link = "https://theqoo.net" + titleElement.attr("href");
-
-                        // 댓글 수 추출 (엘리먼트가 없을 경우 0으로 설정)
-                        Element commentCountElement = tdElements.get(2).selectFirst("a.replyNum");
-                        int commentCount = Optional.ofNullable(commentCountElement)
-                                .map(Element::text)
-                                .map(Integer::parseInt)
-                                .orElse(0);
-
-                        // 날짜/시간 추출
-//                        Element timeElement = tdElements.get(3);
-                        String timeStr = tdElements.get(3).text().trim();
-                        LocalDateTime createdAt = null;
-                        try {
-                            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-                            createdAt = LocalDateTime.of(LocalDate.now(), LocalTime.parse(timeStr, timeFormatter));
-                        } catch (DateTimeParseException e) {
-                            DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MM.dd");
-                            MonthDay md = MonthDay.parse(timeStr, fmt);
-                            LocalDate localDate = md.atYear(LocalDate.now().getYear());
-                            createdAt = localDate.atStartOfDay();
-//                            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MM-dd");
-//                            createdAt = LocalDate.parse(timeStr, dateFormatter).atStartOfDay();
-                        }
-
-                        // ✨ 게시글 날짜가 목표 날짜보다 이전이면 중단
-                        if (createdAt.isBefore(until)) {
-                            continueCrawling = false;
-                            break;
-                        }
-
-                        // 조회 수 추출
-                        String viewCountStr = tdElements.get(4).text().replaceAll(",", "");
-                        int viewCount = 0;
-                        try {
-                            viewCount = Integer.parseInt(viewCountStr);
-                        } catch (NumberFormatException e) {
-                            log.warn("조회 수 파싱 오류: {}", viewCountStr);
-                        }
-
-                        Post post = Post.builder()
-                                .sourceId(sourceId)
-                                .title(title)
-                                .link(link)
-                                .author(null)
-                                .commentCount(commentCount)
-                                .viewCount(viewCount)
-                                .recommendationCount(null)
-                                .createdAt(createdAt)
-                                .source("theqoo")
-                                .build();
-
-                        posts.add(post);
-//                    System.out.println(post.toString());
-
-                    } catch (Exception e) {
-                        log.warn("개별 게시글 크롤링 중 오류가 발생했습니다: " + e.getMessage());
-                        e.printStackTrace();
-                    }
-                }
-            } catch (IOException e) {
-                log.error("크롤링 중 오류가 발생했습니다: " + e.getMessage());
-                e.printStackTrace();
-                break;
-            }
-            if (continueCrawling) {
-                page++;
-            }
-        }
-        return posts;
-    }
-}
\ No newline at end of file
@@ -0,0 +1,91 @@
+-- 애플리케이션 시작 시 실행되는 스키마 보정 스크립트 (spring.sql.init.mode=always)
+-- ddl-auto=none 이므로 여기 있는 문장은 여러 번 실행되어도 안전해야 합니다.
+
+-- PostUpsertRepository 의 INSERT ... ON DUPLICATE KEY UPDATE 가 기대는 (source, source_id) 유니크 인덱스
+SET @uk_post_source_source_id_exists = (
+    SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'post' AND index_name = 'uk_post_source_source_id'
+);
+-- 예전 저장 방식(조회 후 저장)으로 쌓인 중복 게시글이 있으면 인덱스 생성이 실패하므로, 인덱스가 없을 때만 먼저 정리합니다.
+-- (source, source_id) 마다 가장 먼저 저장된 행(MIN(id))만 남깁니다. source 나 source_id 가 NULL 인 행은 유니크 인덱스와 무관하므로 두고,
+-- 지운 게시글의 Elasticsearch 문서는 정합성 검사(PostReconciler)가 MySQL에 없는 문서로 알립니다.
+SET @post_duplicates_dml = IF(@uk_post_source_source_id_exists = 0,
+    'DELETE p FROM post p JOIN (SELECT source, source_id, MIN(id) AS keep_id FROM post WHERE source IS NOT NULL AND source_id IS NOT NULL GROUP BY source, source_id HAVING COUNT(*) > 1) d ON p.source = d.source AND p.source_id = d.source_id AND p.id > d.keep_id',
+    'DO 0');
+PREPARE post_duplicates_stmt FROM @post_duplicates_dml;
+EXECUTE post_duplicates_stmt;
+DEALLOCATE PREPARE post_duplicates_stmt;
+SET @uk_post_source_source_id_ddl = IF(@uk_post_source_source_id_exists = 0,
+    'ALTER TABLE post ADD UNIQUE INDEX uk_post_source_source_id (source, source_id)',
+    'DO 0');
+PREPARE uk_post_source_source_id_stmt FROM @uk_post_source_source_id_ddl;
+EXECUTE uk_post_source_source_id_stmt;
+DEALLOCATE PREPARE uk_post_source_source_id_stmt;
+
+-- 정합성 검사(PostReconciler)용 내용 해시. 제목/카운터가 바뀌면 MySQL 이 다시 계산하며, PostDocument.contentHash 와 같은 식입니다.
+-- (STORED 컬럼이라 처음 추가할 때 기존 행 전체를 다시 씁니다.)
+SET @post_content_hash_exists = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'post' AND column_name = 'content_hash'
+);
+SET @post_content_hash_ddl = IF(@post_content_hash_exists = 0,
+    'ALTER TABLE post ADD COLUMN content_hash BIGINT AS (CRC32(CONCAT_WS(''|'', title, comment_count, view_count, recommendation_count))) STORED',
+    'DO 0');
+PREPARE post_content_hash_stmt FROM @post_content_hash_ddl;
+EXECUTE post_content_hash_stmt;
+DEALLOCATE PREPARE post_content_hash_stmt;
+
+-- Elasticsearch 전체 재색인(PostReindexer) 진행 상황. 파티션마다 마지막으로 색인이 확인된 id 를 저장해 재시작 시 이어서 진행합니다.
+CREATE TABLE IF NOT EXISTS reindex_checkpoint (
+    partition_no INT         NOT NULL PRIMARY KEY,
+    start_id     BIGINT      NOT NULL, -- 이 id 초과부터
+    end_id       BIGINT      NOT NULL, -- 이 id 이하까지
+    last_id      BIGINT      NOT NULL, -- 색인 완료가 확인된 마지막 id
+    done         BIT(1)      NOT NULL,
+    updated_at   DATETIME(6) NOT NULL
+);
+
+-- 게시글 저장과 같은 트랜잭션에 쌓는 후속 작업(Elasticsearch 색인, 키워드 알림). PostOutboxRelay 가 꺼내 처리한 뒤 삭제합니다.
+CREATE TABLE IF NOT EXISTS post_outbox (
+    id              BIGINT      NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    post_id         BIGINT      NOT NULL,
+    event_type      VARCHAR(20) NOT NULL, -- INDEX, NOTIFY, COUNTERS
+    attempts        INT         NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    created_at      DATETIME(6) NOT NULL,
+    INDEX idx_post_outbox_due (event_type, next_attempt_at, id)
+);
+
+-- 크롤러별 수집 진행 위치(워터마크). 증분 크롤링은 max_source_id 이하 게시글을 만나면 페이지 넘기기를 멈추고,
+-- last_full_crawl_at 이 오래되면 조회/댓글/추천 수 갱신을 위해 lookback 구간 전체를 다시 훑습니다.
+CREATE TABLE IF NOT EXISTS crawl_watermark (
+    source             VARCHAR(50) NOT NULL PRIMARY KEY,
+    max_source_id      BIGINT      NULL,     -- 지금까지 저장된 가장 큰 sourceId
+    max_created_at     DATETIME(6) NULL,     -- 지금까지 저장된 가장 늦은 작성 시각
+    last_full_crawl_at DATETIME(6) NULL,     -- lookback 구간 전체를 마지막으로 훑은 시각
+    updated_at         DATETIME(6) NOT NULL
+);
+
+-- 최초/재시작 크롤링 진행 중 표시. 페이지마다 저장하므로, 끝나지 못한 크롤링은 다음 실행에서 이 시각까지 다시 훑습니다.
+SET @crawl_watermark_pending_until_exists = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'crawl_watermark' AND column_name = 'pending_until'
+);
+SET @crawl_watermark_pending_until_ddl = IF(@crawl_watermark_pending_until_exists = 0,
+    'ALTER TABLE crawl_watermark ADD COLUMN pending_until DATETIME(6) NULL',
+    'DO 0');
+PREPARE crawl_watermark_pending_until_stmt FROM @crawl_watermark_pending_until_ddl;
+EXECUTE crawl_watermark_pending_until_stmt;
+DEALLOCATE PREPARE crawl_watermark_pending_until_stmt;
+
+-- 후속 작업 dead-letter 표시. max-attempts 번 실패한 항목은 재시도하지 않고 남겨 두어 원인을 확인한 뒤 다시 넣을 수 있게 합니다.
+SET @post_outbox_dead_at_exists = (
+    SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'post_outbox' AND column_name = 'dead_at'
+);
+SET @post_outbox_dead_at_ddl = IF(@post_outbox_dead_at_exists = 0,
+    'ALTER TABLE post_outbox ADD COLUMN dead_at DATETIME(6) NULL',
+    'DO 0');
+PREPARE post_outbox_dead_at_stmt FROM @post_outbox_dead_at_ddl;
+EXECUTE post_outbox_dead_at_stmt;
+DEALLOCATE PREPARE post_outbox_dead_at_stmt;
@@ -0,0 +1,175 @@
+package hyunsub.glemoa.collector.common;
+
+import hyunsub.glemoa.collector.common.board.CompiledBoard;
+import hyunsub.glemoa.collector.common.fetch.PageFetcher;
+import hyunsub.glemoa.collector.config.CrawlerProperties.BoardSpec;
+import hyunsub.glemoa.collector.config.CrawlerProperties.FieldSpec;
+import hyunsub.glemoa.collector.entity.Post;
+import hyunsub.glemoa.collector.repository.CrawlWatermarkRepository;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository.EventType;
+import hyunsub.glemoa.collector.repository.PostRepository;
+import hyunsub.glemoa.collector.repository.PostUpsertRepository;
+import hyunsub.glemoa.collector.repository.PostUpsertRepository.UpsertResult;
+import hyunsub.glemoa.collector.service.PostCounterTracker;
+import hyunsub.glemoa.collector.service.PostCounterTracker.CounterPlan;
+import hyunsub.glemoa.collector.service.impl.BoardCrawler;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CrawlerJobTest {
+
+    private static final String PAGE = "<table id=\"boardlist\"><tbody>"
+            + "<tr itemscope><td><a class=\"bsubject\" href=\"/view?code=best&amp;No=101\">첫 번째 글</a></td>"
+            + "<td class=\"date\">12:00</td></tr>"
+            + "</tbody></table>";
+
+    private final PageFetcher pageFetcher = mock(PageFetcher.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostUpsertRepository postUpsertRepository = mock(PostUpsertRepository.class);
+    private final PostOutboxRepository postOutboxRepository = mock(PostOutboxRepository.class);
+    private final CrawlWatermarkRepository crawlWatermarkRepository = mock(CrawlWatermarkRepository.class);
+    private final PostCounterTracker postCounterTracker = mock(PostCounterTracker.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        Document page = Jsoup.parse(PAGE, "https://www.bobaedream.co.kr/list?code=best");
+        when(pageFetcher.prefetch(any(), anyInt(), anyInt(), anyBoolean())).thenCallRealMethod();
+        when(pageFetcher.fetch(anyString(), anyBoolean())).thenReturn(new PageFetcher.FetchResult(page),
+                new PageFetcher.FetchResult(Document.createShell("")));
+
+        // 이미 수집 중인 source 의 주기적 크롤링
+        when(postCounterTracker.hasAny(anyString())).thenReturn(true);
+        when(postCounterTracker.plan(anyString(), anyList()))
+                .thenAnswer(invocation -> new CounterPlan(new ArrayList<>((List<Post>) invocation.getArgument(1)), List.of(), 0, 0));
+        when(postRepository.findTopBySourceOrderByCreatedAtDesc(anyString()))
+                .thenReturn(Optional.of(Post.builder().createdAt(LocalDateTime.now()).build()));
+        when(crawlWatermarkRepository.findBySource(anyString())).thenReturn(Optional.empty());
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+
+        // 실제 upsert 처럼 (source, source_id) 로 id 를 찾으므로, 게시글의 source 와 다른 값으로 부르면 id 를 찾지 못합니다.
+        AtomicLong ids = new AtomicLong(1);
+        when(postUpsertRepository.upsert(anyString(), anyList())).thenAnswer(invocation -> {
+            String source = invocation.getArgument(0);
+            List<Post> posts = invocation.getArgument(1);
+            List<Post> inserted = new ArrayList<>();
+            for (Post post : posts) {
+                if (source.equals(post.getSource())) {
+                    post.setId(ids.getAndIncrement());
+                    inserted.add(post);
+                }
+            }
+            return new UpsertResult(inserted, 0, 0);
+        });
+    }
+
+    @Test
+    void boardCrawlerPostsAreSavedUnderBoardSource() {
+        CrawlerJob job = job(new BoardCrawler(pageFetcher, CompiledBoard.compile("bobaedreamCrawler", bobaedream())));
+
+        job.run();
+
+        verify(postUpsertRepository).upsert(eq("bobaedream"), anyList());
+        verify(postOutboxRepository).append(EventType.INDEX, List.of(1L));
+        verify(postOutboxRepository).append(EventType.NOTIFY, List.of(1L));
+        verify(crawlWatermarkRepository).findBySource("bobaedream");
+        verify(postUpsertRepository, never()).upsert(eq("board"), anyList());
+    }
+
+    @Test
+    void watermarkAdvancesWhenScopeEndIsReached() {
+        CrawlerJob job = job(new BoardCrawler(pageFetcher, CompiledBoard.compile("bobaedreamCrawler", bobaedream())));
+
+        job.run();
+
+        verify(postCounterTracker).markRefreshed(eq("bobaedream"), any());
+        verify(crawlWatermarkRepository).advance(eq("bobaedream"), eq(101L), any(), any());
+    }
+
+    @Test
+    void fullCrawlFetchesWithoutRevalidation() throws Exception {
+        CrawlerJob job = job(new BoardCrawler(pageFetcher, CompiledBoard.compile("bobaedreamCrawler", bobaedream())));
+
+        job.run();
+
+        // 증분 크롤링이 아니면 "변경 없음"으로 멈추지 않도록 조건부 요청 없이 가져옵니다.
+        verify(pageFetcher, never()).fetch(anyString(), eq(true));
+    }
+
+    @Test
+    void watermarkStaysWhenCrawlStopsBeforeScopeEnd() throws Exception {
+        Document page = Jsoup.parse(PAGE, "https://www.bobaedream.co.kr/list?code=best");
+        when(pageFetcher.fetch(anyString(), anyBoolean())).thenReturn(new PageFetcher.FetchResult(page))
+                .thenThrow(new IOException("connection reset"));
+        CrawlerJob job = job(new BoardCrawler(pageFetcher, CompiledBoard.compile("bobaedreamCrawler", bobaedream())));
+
+        job.run();
+
+        // 1페이지는 저장되지만, 2페이지를 보지 못했으므로 갱신/전체 크롤링 시각과 워터마크는 그대로입니다.
+        verify(postUpsertRepository).upsert(eq("bobaedream"), anyList());
+        verify(postCounterTracker, never()).markRefreshed(anyString(), any());
+        verify(crawlWatermarkRepository, never()).advance(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void boardSourceComesFromSpec() {
+        BoardCrawler crawler = new BoardCrawler(pageFetcher, CompiledBoard.compile("bobaedreamCrawler", bobaedream()));
+
+        assertThat(crawler.source()).isEqualTo("bobaedream");
+    }
+
+    private CrawlerJob job(BoardCrawler crawler) {
+        return new CrawlerJob(crawler, postRepository, postUpsertRepository, postOutboxRepository, crawlWatermarkRepository,
+                postCounterTracker, transactionTemplate, 3, 100, 1440, 1440, false, 30, new ReentrantLock(), new Semaphore(1));
+    }
+
+    private static BoardSpec bobaedream() {
+        BoardSpec spec = new BoardSpec();
+        spec.setSource("bobaedream");
+        spec.setUrl("https://www.bobaedream.co.kr/list?code=best&page=%d");
+        spec.setRows("table#boardlist tbody tr[itemscope]");
+        spec.setLinkPrefix("https://www.bobaedream.co.kr");
+        spec.setTitle(field("a.bsubject", null, null));
+        spec.setLink(field("a.bsubject", "href", null));
+        spec.setSourceId(field("a.bsubject", "href", "No=(\\d+)"));
+        spec.setCreatedAt(field("td.date", null, null));
+        spec.setDateFormats(List.of("HH:mm"));
+        return spec;
+    }
+
+    private static FieldSpec field(String selector, String attr, String pattern) {
+        FieldSpec field = new FieldSpec();
+        field.setSelector(selector);
+        field.setAttr(attr);
+        field.setPattern(pattern);
+        return field;
+    }
+}
@@ -0,0 +1,83 @@
+package hyunsub.glemoa.collector.common;
+
+import hyunsub.glemoa.collector.dto.KeywordResDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordMatcherTest {
+
+    @Test
+    void findsOverlappingKeywords() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of(
+                keyword(1, 10, "he"), keyword(2, 10, "she"), keyword(3, 10, "his"), keyword(4, 10, "hers")));
+
+        assertThat(keywordIds(matcher.match("ushers"))).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(keywordIds(matcher.match("this"))).containsExactly(3L);
+    }
+
+    @Test
+    void returnsEverySubscriberOfSameKeywordOnce() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of(
+                keyword(1, 10, "치킨"), keyword(2, 20, "치킨"), keyword(3, 30, "피자")));
+
+        List<KeywordResDto> hits = matcher.match("치킨 먹고 또 치킨");
+
+        assertThat(hits).extracting(KeywordResDto::getMemberId).containsExactlyInAnyOrder(10L, 20L);
+    }
+
+    @Test
+    void ignoresEmptyKeywordsAndTitles() {
+        List<KeywordResDto> keywords = new ArrayList<>();
+        keywords.add(keyword(1, 10, ""));
+        keywords.add(keyword(2, 10, null));
+        KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+
+        assertThat(matcher.isEmpty()).isTrue();
+        assertThat(matcher.match("아무 제목")).isEmpty();
+        assertThat(KeywordMatcher.compile(List.of(keyword(3, 10, "제목"))).match(null)).isEmpty();
+    }
+
+    @Test
+    void matchesSameAsStringContains() {
+        Random random = new Random(7);
+        List<KeywordResDto> keywords = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            keywords.add(keyword(i, i % 100, hangul(random, 1 + random.nextInt(4))));
+        }
+        KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+
+        for (int i = 0; i < 200; i++) {
+            String title = hangul(random, 10 + random.nextInt(30));
+            Set<Long> expected = keywords.stream()
+                    .filter(keyword -> title.contains(keyword.getKeywordName()))
+                    .map(KeywordResDto::getKeywordId)
+                    .collect(Collectors.toSet());
+
+            assertThat(keywordIds(matcher.match(title))).as(title).isEqualTo(expected);
+        }
+    }
+
+    // 적은 음절만 써서 키워드가 제목에 자주 겹치도록 합니다.
+    private static String hangul(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) (0xAC00 + random.nextInt(20)));
+        }
+        return sb.toString();
+    }
+
+    private static Set<Long> keywordIds(List<KeywordResDto> hits) {
+        return hits.stream().map(KeywordResDto::getKeywordId).collect(Collectors.toSet());
+    }
+
+    private static KeywordResDto keyword(long keywordId, long memberId, String name) {
+        return KeywordResDto.builder().keywordId(keywordId).memberId(memberId).keywordName(name).build();
+    }
+}
@@ -0,0 +1,132 @@
+package hyunsub.glemoa.collector.common.board;
+
+import hyunsub.glemoa.collector.config.CrawlerProperties;
+import hyunsub.glemoa.collector.config.CrawlerProperties.BoardSpec;
+import hyunsub.glemoa.collector.entity.Post;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * application-local.yaml 의 board 설정을 src/jmh/resources/fixtures/{crawler}.html (벤치마크와 같은 목록 페이지 fixture)에 적용해 봅니다.
+ * 선택자나 형식을 바꿨을 때 게시글을 놓치거나 필드가 비는 것을 배포 전에 잡기 위한 테스트입니다.
+ */
+class CompiledBoardTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    private static Map<String, BoardSpec> boards;
+
+    @BeforeAll
+    static void loadBoards() throws IOException {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                .load("application-local", new ClassPathResource("application-local.yaml"));
+        CrawlerProperties properties = new Binder(ConfigurationPropertySources.from(sources))
+                .bind("glemoa", CrawlerProperties.class)
+                .get();
+        boards = properties.getCrawlers().stream()
+                .filter(config -> config.getBoard() != null)
+                .collect(Collectors.toMap(CrawlerProperties.CrawlerConfig::getName, CrawlerProperties.CrawlerConfig::getBoard));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bobaedreamCrawler", "dcInsideCrawler", "etolandCrawler", "humorunivCrawler", "invenCrawler",
+            "mlbparkCrawler", "ppomppuCrawler", "ruliwebCrawler", "theqooCrawler"})
+    void readsEveryPostOnFixturePage(String crawlerName) throws IOException {
+        CompiledBoard board = compile(crawlerName);
+        Document document = fixture(crawlerName, board);
+
+        List<Post> posts = extractAll(board, document);
+
+        assertThat(posts).hasSize(40);
+        assertThat(posts).allSatisfy(post -> {
+            assertThat(post.getSourceId()).isNotNull();
+            assertThat(post.getTitle()).isNotBlank();
+            assertThat(post.getLink()).startsWith("https://");
+            assertThat(post.getCreatedAt()).isNotNull();
+            assertThat(post.getSource()).isEqualTo(board.source());
+        });
+        assertThat(posts).extracting(Post::getSourceId).doesNotHaveDuplicates();
+        assertThat(board.isLastPage(document)).isFalse();
+    }
+
+    @Test
+    void readsBobaedreamRow() throws IOException {
+        CompiledBoard board = compile("bobaedreamCrawler");
+
+        Post first = extractAll(board, fixture("bobaedreamCrawler", board)).get(0);
+
+        assertThat(first.getSourceId()).isEqualTo(2893450L);
+        assertThat(first.getTitle()).isEqualTo("게임 월급 고양이");
+        assertThat(first.getLink()).isEqualTo("https://www.bobaedream.co.kr/view?code=best&No=2893450&bm=1");
+        assertThat(first.getAuthor()).isEqualTo("주말농부28");
+        assertThat(first.getCommentCount()).isEqualTo(931);
+        assertThat(first.getViewCount()).isEqualTo(219242);
+        assertThat(first.getRecommendationCount()).isEqualTo(38);
+        assertThat(first.getCreatedAt()).isEqualTo(LocalDateTime.of(2026, 2, 27, 0, 0));
+        assertThat(first.getSource()).isEqualTo("bobaedream");
+    }
+
+    @Test
+    void readsRuliwebRow() throws IOException {
+        CompiledBoard board = compile("ruliwebCrawler");
+
+        Post first = extractAll(board, fixture("ruliwebCrawler", board)).get(0);
+
+        assertThat(first.getSourceId()).isEqualTo(72310450L);
+        assertThat(first.getTitle()).isEqualTo("오늘 점심 정리");
+        assertThat(first.getLink()).isEqualTo("https://bbs.ruliweb.com/best/board/300143/read/72310450");
+        assertThat(first.getCommentCount()).isEqualTo(799);
+        assertThat(first.getViewCount()).isEqualTo(935);
+        assertThat(first.getRecommendationCount()).isEqualTo(910);
+        assertThat(first.getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 4, 24, 0, 0));
+    }
+
+    @Test
+    void emptyPageHasNoRows() {
+        CompiledBoard board = compile("ruliwebCrawler");
+
+        assertThat(board.rows(Document.createShell(board.pageUrl(1)))).isEmpty();
+    }
+
+    private static CompiledBoard compile(String crawlerName) {
+        return CompiledBoard.compile(crawlerName, boards.get(crawlerName));
+    }
+
+    private static Document fixture(String crawlerName, CompiledBoard board) throws IOException {
+        try (InputStream in = new ClassPathResource("fixtures/" + crawlerName + ".html").getInputStream()) {
+            return Jsoup.parse(in, "UTF-8", board.pageUrl(board.firstPage()));
+        }
+    }
+
+    // 공지/광고처럼 게시글이 아닌 줄은 extract 가 null 을 돌려주므로 빼고 셉니다.
+    private static List<Post> extractAll(CompiledBoard board, Document document) {
+        List<Post> posts = new ArrayList<>();
+        for (Element row : board.rows(document)) {
+            Post post = board.extract(row, NOW);
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+        return posts;
+    }
+}
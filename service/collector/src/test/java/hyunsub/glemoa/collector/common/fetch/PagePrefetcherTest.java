@@ -0,0 +1,108 @@
+package hyunsub.glemoa.collector.common.fetch;
+
+import hyunsub.glemoa.collector.common.fetch.PageFetcher.FetchResult;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PagePrefetcherTest {
+
+    private final PageFetcher pageFetcher = mock(PageFetcher.class);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 앞 페이지일수록 늦게 끝나도록 해서, 순서대로 돌려주는지 확인합니다.
+        when(pageFetcher.fetch(anyString(), anyBoolean())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            Thread.sleep(Math.max(0, 50 - 10L * pageOf(url)));
+            return FetchResult.modified(Document.createShell(url));
+        });
+    }
+
+    @Test
+    void returnsPagesInOrder() throws IOException {
+        List<String> urls = new ArrayList<>();
+        try (PagePrefetcher prefetcher = new PagePrefetcher(pageFetcher, page -> "page-" + page, 1, 3, true)) {
+            for (int i = 0; i < 5; i++) {
+                urls.add(prefetcher.next().document().location());
+            }
+        }
+
+        assertThat(urls).containsExactly("page-1", "page-2", "page-3", "page-4", "page-5");
+    }
+
+    @Test
+    void prefetchesUpToDepthPagesAhead() throws IOException {
+        try (PagePrefetcher prefetcher = new PagePrefetcher(pageFetcher, page -> "page-" + page, 1, 2, true)) {
+            prefetcher.next();
+
+            verify(pageFetcher, timeout(1_000)).fetch("page-3", true);
+            verify(pageFetcher, after(200).never()).fetch(eq("page-4"), anyBoolean());
+        }
+    }
+
+    @Test
+    void stopsPrefetchingAfterNotModifiedPage() throws IOException {
+        doReturn(FetchResult.NOT_MODIFIED).when(pageFetcher).fetch(eq("page-1"), anyBoolean());
+
+        try (PagePrefetcher prefetcher = new PagePrefetcher(pageFetcher, page -> "page-" + page, 1, 2, true)) {
+            assertThat(prefetcher.next().notModified()).isTrue();
+
+            verify(pageFetcher, after(200).never()).fetch(eq("page-2"), anyBoolean());
+        }
+    }
+
+    @Test
+    void rethrowsFetchFailure() throws IOException {
+        doThrow(new IOException("연결 실패")).when(pageFetcher).fetch(eq("page-1"), anyBoolean());
+
+        try (PagePrefetcher prefetcher = new PagePrefetcher(pageFetcher, page -> "page-" + page, 1, 2, true)) {
+            assertThatThrownBy(prefetcher::next).isInstanceOf(IOException.class).hasMessage("연결 실패");
+        }
+    }
+
+    @Test
+    void closeForgetsPagesThatWereNotReturned() throws IOException {
+        PagePrefetcher prefetcher = new PagePrefetcher(pageFetcher, page -> "page-" + page, 1, 2, true);
+        prefetcher.next();
+        prefetcher.close();
+
+        // 취소와 엇갈려 끝난 요청은 요청 쪽에서도 한 번 더 지울 수 있습니다.
+        verify(pageFetcher, atLeastOnce()).forget("page-2");
+        verify(pageFetcher, atLeastOnce()).forget("page-3");
+        verify(pageFetcher, never()).forget("page-1");
+    }
+
+    @Test
+    void zeroDepthFetchesOnCallerThreadWithoutPrefetching() throws IOException {
+        try (PagePrefetcher prefetcher = new PagePrefetcher(pageFetcher, page -> "page-" + page, 1, 0, false)) {
+            assertThat(prefetcher.next().document().location()).isEqualTo("page-1");
+
+            verify(pageFetcher).fetch("page-1", false);
+            verify(pageFetcher, never()).fetch(eq("page-2"), anyBoolean());
+        }
+    }
+
+    private static int pageOf(String url) {
+        return Integer.parseInt(url.substring(url.indexOf('-') + 1));
+    }
+}
@@ -0,0 +1,45 @@
+package hyunsub.glemoa.collector.common.parse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountParserTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "1,234 | 1234",
+            "99+   | 99",
+            "(12)  | 12",
+            "[3]   | 3",
+            "' 7 ' | 7",
+            "1.2만 | 12000",
+            "0.5만 | 5000",
+            "3천   | 3000",
+            "1.5k  | 1500",
+            "1.5K  | 1500",
+            "12억  | 1200000000",
+    })
+    void parsesCountShapesFromListPages(String text, int expected) {
+        assertThat(CountParser.parse(text, -1)).isEqualTo(expected);
+    }
+
+    @Test
+    void usesFirstNumberOnly() {
+        // 루리웹 추천 칸처럼 "추천 - 비추천" 이 함께 나오면 앞의 숫자만 씁니다.
+        assertThat(CountParser.parse("3 - 1", -1)).isEqualTo(3);
+    }
+
+    @Test
+    void returnsDefaultWithoutDigits() {
+        assertThat(CountParser.parse("", -1)).isEqualTo(-1);
+        assertThat(CountParser.parse("abc", 0)).isZero();
+    }
+
+    @Test
+    void clampsOverflowToIntMax() {
+        assertThat(CountParser.parse("2147483648", -1)).isEqualTo(Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,70 @@
+package hyunsub.glemoa.collector.common.parse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeParserTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 12, 0);
+    private static final DateTimeFormatter[] FORMATS = {
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"), DateTimeFormatter.ofPattern("MM-dd")};
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "방금     | 2026-10-17T12:00",
+            "10초 전  | 2026-10-17T11:59:50",
+            "5분전    | 2026-10-17T11:55",
+            "5분 전   | 2026-10-17T11:55",
+            "3시간전  | 2026-10-17T09:00",
+            "2 일 전  | 2026-10-15T12:00",
+            "1주 전   | 2026-10-10T12:00",
+    })
+    void parsesRelativeTimes(String text, LocalDateTime expected) {
+        assertThat(TimeParser.parseRelative(text, NOW)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "5분", "전", "3달 전", "23:59"})
+    void ignoresTextThatIsNotRelative(String text) {
+        assertThat(TimeParser.parseRelative(text, NOW)).isNull();
+    }
+
+    @Test
+    void triesFormatsInOrder() {
+        assertThat(TimeParser.parse("2026-10-01 09:30", FORMATS, NOW)).isEqualTo(LocalDateTime.of(2026, 10, 1, 9, 30));
+        assertThat(TimeParser.parse("10-16", FORMATS, NOW)).isEqualTo(LocalDateTime.of(2026, 10, 16, 0, 0));
+        // 상대 시간은 형식보다 먼저 확인합니다.
+        assertThat(TimeParser.parse("3시간전", FORMATS, NOW)).isEqualTo(LocalDateTime.of(2026, 10, 17, 9, 0));
+    }
+
+    @Test
+    void monthDayInTheFutureBelongsToLastYear() {
+        assertThat(TimeParser.parse("10-18", FORMATS, NOW)).isEqualTo(LocalDateTime.of(2025, 10, 18, 0, 0));
+        assertThat(TimeParser.atThisYear(MonthDay.of(12, 31), NOW.toLocalDate())).isEqualTo(LocalDate.of(2025, 12, 31));
+    }
+
+    @Test
+    void timeLaterThanNowBelongsToYesterday() {
+        assertThat(TimeParser.atToday(LocalTime.of(11, 30), NOW)).isEqualTo(LocalDateTime.of(2026, 10, 17, 11, 30));
+        // 사이트 시계가 조금 빠른 정도(10분 이내)는 오늘로 봅니다.
+        assertThat(TimeParser.atToday(LocalTime.of(12, 5), NOW)).isEqualTo(LocalDateTime.of(2026, 10, 17, 12, 5));
+        assertThat(TimeParser.atToday(LocalTime.of(23, 59), NOW)).isEqualTo(LocalDateTime.of(2026, 10, 16, 23, 59));
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        assertThatThrownBy(() -> TimeParser.parse("어제", FORMATS, NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,145 @@
+package hyunsub.glemoa.collector.repository;
+
+import hyunsub.glemoa.collector.entity.Post;
+import hyunsub.glemoa.collector.repository.PostUpsertRepository.UpsertResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PostUpsertRepositoryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement upsertStatement = mock(PreparedStatement.class);
+    private final PreparedStatement selectStatement = mock(PreparedStatement.class);
+    private final ResultSet generatedKeys = mock(ResultSet.class);
+    private final ResultSet ids = mock(ResultSet.class);
+
+    private final PostUpsertRepository repository = new PostUpsertRepository(jdbcTemplate);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> ((ConnectionCallback<Object>) invocation.getArgument(0)).doInConnection(connection));
+        when(connection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(upsertStatement);
+        when(connection.prepareStatement(anyString())).thenReturn(selectStatement);
+        when(upsertStatement.getGeneratedKeys()).thenReturn(generatedKeys);
+        when(selectStatement.executeQuery()).thenReturn(ids);
+    }
+
+    // MySQL 영향받은 행 수: 신규 1, 변경 2, 변경 없는 중복 1
+    @Test
+    void splitsInsertedUpdatedAndUnchangedRows() throws Exception {
+        // 100: 기존 게시글(제목/카운터 변경), 101: 기존 게시글(변경 없음), 102: 신규 -> 1 + 2 + 1 = 4
+        when(upsertStatement.executeUpdate()).thenReturn(4);
+        when(generatedKeys.next()).thenReturn(true);
+        when(generatedKeys.getLong(1)).thenReturn(500L);
+        idsAre(new long[][]{{100, 10}, {101, 11}, {102, 500}});
+
+        Post changed = post(100);
+        Post unchanged = post(101);
+        Post inserted = post(102);
+        Post duplicate = post(102);
+        UpsertResult result = repository.upsert("test", List.of(changed, unchanged, inserted, duplicate));
+
+        assertThat(result.insertedPosts()).containsExactly(inserted);
+        assertThat(result.updatedCount()).isEqualTo(1);
+        assertThat(result.unchangedCount()).isEqualTo(1);
+        assertThat(result.hasChanges()).isTrue();
+        assertThat(List.of(changed, unchanged, inserted, duplicate))
+                .extracting(Post::getId).containsExactly(10L, 11L, 500L, 500L);
+
+        // 배치 안의 중복 sourceId 는 한 행으로 보냅니다.
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture(), eq(Statement.RETURN_GENERATED_KEYS));
+        assertThat(sql.getValue().split("\\(\\?").length - 1).isEqualTo(3);
+        assertThat(sql.getValue()).contains(" AS new ON DUPLICATE KEY UPDATE title = new.title");
+    }
+
+    @Test
+    void noGeneratedKeyMeansNothingWasInserted() throws Exception {
+        // 모두 기존 게시글: 100 변경(2), 101 동일(1)
+        when(upsertStatement.executeUpdate()).thenReturn(3);
+        when(generatedKeys.next()).thenReturn(false);
+        idsAre(new long[][]{{100, 10}, {101, 11}});
+
+        UpsertResult result = repository.upsert("test", List.of(post(100), post(101)));
+
+        assertThat(result.insertedPosts()).isEmpty();
+        assertThat(result.updatedCount()).isEqualTo(1);
+        assertThat(result.unchangedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unchangedBatchHasNoChanges() throws Exception {
+        when(upsertStatement.executeUpdate()).thenReturn(2);
+        when(generatedKeys.next()).thenReturn(false);
+        idsAre(new long[][]{{100, 10}, {101, 11}});
+
+        UpsertResult result = repository.upsert("test", List.of(post(100), post(101)));
+
+        assertThat(result.hasChanges()).isFalse();
+        assertThat(result.unchangedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void skipsPostsWithoutSourceId() {
+        Post post = post(1);
+        post.setSourceId(null);
+
+        UpsertResult result = repository.upsert("test", List.of(post));
+
+        assertThat(result.insertedPosts()).isEmpty();
+        assertThat(result.hasChanges()).isFalse();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    // findIds 의 (id, source_id) 결과
+    private void idsAre(long[][] rows) throws Exception {
+        List<Boolean> next = new ArrayList<>();
+        List<Long> idColumn = new ArrayList<>();
+        List<Long> sourceIdColumn = new ArrayList<>();
+        for (long[] row : rows) {
+            next.add(true);
+            sourceIdColumn.add(row[0]);
+            idColumn.add(row[1]);
+        }
+        next.add(false);
+        when(ids.next()).thenReturn(next.get(0), next.subList(1, next.size()).toArray(Boolean[]::new));
+        when(ids.getLong(1)).thenReturn(idColumn.get(0), idColumn.subList(1, idColumn.size()).toArray(Long[]::new));
+        when(ids.getLong(2)).thenReturn(sourceIdColumn.get(0), sourceIdColumn.subList(1, sourceIdColumn.size()).toArray(Long[]::new));
+    }
+
+    private static Post post(long sourceId) {
+        return Post.builder()
+                .sourceId(sourceId)
+                .title("제목 " + sourceId)
+                .link("https://example.com/" + sourceId)
+                .commentCount(1)
+                .viewCount(2)
+                .recommendationCount(3)
+                .createdAt(LocalDateTime.of(2026, 10, 17, 12, 0))
+                .source("test")
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package hyunsub.glemoa.collector.service;
+
+import hyunsub.glemoa.collector.common.KeywordMatcher;
+import hyunsub.glemoa.collector.dto.KeywordResDto;
+import hyunsub.glemoa.collector.dto.NotificationReqDto;
+import hyunsub.glemoa.collector.entity.Post;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository.EventType;
+import hyunsub.glemoa.collector.repository.PostOutboxRepository.OutboxEntry;
+import hyunsub.glemoa.collector.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostOutboxRelayTest {
+
+    private final PostOutboxRepository postOutboxRepository = mock(PostOutboxRepository.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostIndexer postIndexer = mock(PostIndexer.class);
+    private final MemberFeign memberFeign = mock(MemberFeign.class);
+    private final KeywordRegistry keywordRegistry = mock(KeywordRegistry.class);
+
+    private PostOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new PostOutboxRelay(postOutboxRepository, postRepository, postIndexer, memberFeign, keywordRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", 500);
+        ReflectionTestUtils.setField(relay, "maxBackoffSeconds", 600L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+
+        when(postOutboxRepository.findDue(any(), anyInt())).thenReturn(List.of());
+        when(postOutboxRepository.findDue(eq(EventType.NOTIFY), anyInt()))
+                .thenReturn(List.of(new OutboxEntry(11, 1, 0), new OutboxEntry(12, 2, 2)));
+        when(postRepository.findAllById(any())).thenReturn(List.of(post(1, "오늘 점심 치킨"), post(2, "주말 치킨 후기")));
+
+        KeywordResDto chicken = KeywordResDto.builder().keywordId(100L).memberId(7L).keywordName("치킨").build();
+        when(keywordRegistry.getMatcher()).thenReturn(KeywordMatcher.compile(List.of(chicken)));
+        when(keywordRegistry.isLoaded()).thenReturn(true);
+    }
+
+    @Test
+    void keepsNotificationsUntilKeywordsAreLoaded() {
+        when(keywordRegistry.getMatcher()).thenReturn(KeywordMatcher.empty());
+        when(keywordRegistry.isLoaded()).thenReturn(false);
+
+        relay.relay();
+
+        // 알림 항목은 꺼내지도 않으므로 시도 횟수가 오르거나 dead-letter 로 넘어가지 않습니다.
+        verify(postOutboxRepository, never()).findDue(eq(EventType.NOTIFY), anyInt());
+        verify(memberFeign, never()).createNotifications(any());
+        verify(postOutboxRepository, never()).reschedule(any(), anyLong());
+        verify(postOutboxRepository, never()).markDead(any());
+    }
+
+    @Test
+    void retriesOnlyPostsWhoseNotificationFailed() {
+        doThrow(new IllegalStateException("회원 서비스 오류"))
+                .when(memberFeign).createNotifications(argThat(notifications -> notifications.get(0).getPostId() == 2L));
+
+        relay.relay();
+
+        verify(memberFeign).createNotifications(List.of(notification(1)));
+        // 1번 게시글은 전송되었으므로 지우고, 2번은 시도 횟수(3회)를 채웠으므로 dead-letter 로 남깁니다.
+        verify(postOutboxRepository).delete(List.of(11L));
+        verify(postOutboxRepository).markDead(List.of(12L));
+        verify(postOutboxRepository, never()).reschedule(any(), anyLong());
+    }
+
+    private static Post post(long id, String title) {
+        return Post.builder().id(id).sourceId(id).title(title).source("test").build();
+    }
+
+    private static NotificationReqDto notification(long postId) {
+        return NotificationReqDto.builder().keywordId(100L).memberId(7L).postId(postId).build();
+    }
+}